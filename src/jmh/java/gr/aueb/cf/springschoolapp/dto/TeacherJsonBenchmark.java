@@ -0,0 +1,52 @@
+package gr.aueb.cf.springschoolapp.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link TeacherReadOnlyDTO} lists, as in
+ * the responses of the teacher search endpoints. The mapper is
+ * built like the one of Spring MVC.
+ *
+ * @author Thanasis Chousiadas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TeacherJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<TeacherReadOnlyDTO> teachers;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        teachers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            teachers.add(new TeacherReadOnlyDTO((long) i, String.format("%06d", i),
+                    "Firstname" + i, "Lastname" + i, "Mathematics", "teacher" + i));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTeachers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(teachers);
+    }
+}
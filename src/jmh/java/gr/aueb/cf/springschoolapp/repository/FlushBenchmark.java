@@ -0,0 +1,117 @@
+package gr.aueb.cf.springschoolapp.repository;
+
+import gr.aueb.cf.springschoolapp.SpringSchoolappApplication;
+import gr.aueb.cf.springschoolapp.model.Teacher;
+import gr.aueb.cf.springschoolapp.querybudget.SchoolFixtures;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of flushing a persistence context with {@code teachers}
+ * loaded teachers of which one was changed, against an embedded H2
+ * database. Run it on the enhanced build ({@code ./gradlew jmh}) and
+ * on the plain one ({@code ./gradlew jmh -PnoEnhance}): with in-line
+ * dirty tracking the flush does not compare every loaded teacher
+ * with its snapshot. The statements per flush are reported as the
+ * {@code statements} counter and must be the same in both builds.
+ *
+ * @author Thanasis Chousiadas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlushBenchmark {
+
+    @Param({"100", "1000"})
+    private int teachers;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringSchoolappApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.type=org.springframework.jdbc.datasource.SimpleDriverDataSource",
+                        "--spring.datasource.url=jdbc:h2:mem:flush;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--logging.level.root=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        SchoolFixtures.teachers(entityManager, teachers);
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * A persistence context with all the teachers loaded, rolled
+     * back after every flush so each invocation changes the same row.
+     */
+    @State(Scope.Thread)
+    public static class LoadedTeachers {
+        private EntityManager entityManager;
+        private Teacher changed;
+        private int invocation;
+
+        @Setup(Level.Invocation)
+        public void load(FlushBenchmark benchmark) {
+            entityManager = benchmark.entityManagerFactory.createEntityManager();
+            entityManager.getTransaction().begin();
+            List<Teacher> loaded = entityManager
+                    .createQuery("SELECT T FROM Teacher T", Teacher.class)
+                    .getResultList();
+            changed = loaded.get(0);
+        }
+
+        @TearDown(Level.Invocation)
+        public void rollback() {
+            entityManager.getTransaction().rollback();
+            entityManager.close();
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class StatementCounter {
+        public long statements;
+    }
+
+    @Benchmark
+    public void flushOneChangedTeacher(LoadedTeachers session, StatementCounter counter) {
+        long before = statistics.getPrepareStatementCount();
+        session.changed.setFirstname("Changed" + (session.invocation++ % 2));
+        session.entityManager.flush();
+        counter.statements += statistics.getPrepareStatementCount() - before;
+    }
+}
@@ -0,0 +1,131 @@
+package gr.aueb.cf.springschoolapp.repository;
+
+import gr.aueb.cf.springschoolapp.SpringSchoolappApplication;
+import gr.aueb.cf.springschoolapp.model.Gender;
+import gr.aueb.cf.springschoolapp.model.Student;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of inserting {@code students} students against an
+ * embedded H2 database, with the IDENTITY ids used before and the
+ * pooled SEQUENCE ids used now, each with JDBC batching off
+ * ({@code batchSize} 0) and on. IDENTITY runs every INSERT on
+ * persist to read the generated key, so it cannot batch; the pooled
+ * sequence reserves 50 ids per round trip and lets the inserts go
+ * out in batches at flush. The statements prepared per insert run,
+ * sequence calls included, are reported as the {@code statements}
+ * counter.
+ * <p>
+ * IDENTITY is mapped through {@code META-INF/identity-ids.xml},
+ * which overrides the id generation of {@link Student}. Every run
+ * is rolled back, so the database stays empty.
+ *
+ * @author Thanasis Chousiadas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class InsertBenchmark {
+
+    private static final int CHUNK = 1000;
+
+    @Param({"100000"})
+    private int students;
+
+    @Param({"IDENTITY", "SEQUENCE"})
+    private String ids;
+
+    @Param({"0", "100"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+
+    @Setup
+    public void setUp() {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.type=org.springframework.jdbc.datasource.SimpleDriverDataSource",
+                "--spring.datasource.url=jdbc:h2:mem:insert-" + ids + "-" + batchSize + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--logging.level.root=WARN"));
+        if (ids.equals("IDENTITY")) {
+            args.add("--spring.jpa.mapping-resources=META-INF/identity-ids.xml");
+        }
+        context = new SpringApplicationBuilder(SpringSchoolappApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class StatementCounter {
+        public long statements;
+    }
+
+    /**
+     * Inserts the students in chunks, flushing and clearing the
+     * persistence context after each one, as the student import does.
+     */
+    @Benchmark
+    public void insertStudents(StatementCounter counter) {
+        statistics.clear();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        try {
+            for (int i = 0; i < students; i++) {
+                Student student = new Student();
+                student.setFirstname("Firstname" + i);
+                student.setLastname("Lastname" + i);
+                student.setGender(i % 2 == 0 ? Gender.F : Gender.M);
+                student.setBirthDate(LocalDate.of(2000, 1, 1));
+                entityManager.persist(student);
+                if ((i + 1) % CHUNK == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+        } finally {
+            entityManager.getTransaction().rollback();
+            entityManager.close();
+        }
+        counter.statements += statistics.getPrepareStatementCount();
+    }
+}
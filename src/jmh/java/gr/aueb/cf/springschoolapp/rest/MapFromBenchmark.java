@@ -0,0 +1,76 @@
+package gr.aueb.cf.springschoolapp.rest;
+
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.model.City;
+import gr.aueb.cf.springschoolapp.model.Gender;
+import gr.aueb.cf.springschoolapp.model.Speciality;
+import gr.aueb.cf.springschoolapp.model.Student;
+import gr.aueb.cf.springschoolapp.model.Teacher;
+import gr.aueb.cf.springschoolapp.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the entity to read-only DTO mapping of {@link ReadOnlyDTOMapper},
+ * used by the REST resources for the responses of the write endpoints.
+ *
+ * @author Thanasis Chousiadas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapFromBenchmark {
+
+    private Teacher teacher;
+    private Student student;
+
+    @Setup
+    public void setUp() {
+        Speciality speciality = new Speciality();
+        speciality.setSpecialityName("Mathematics");
+        teacher = new Teacher();
+        teacher.setId(1L);
+        teacher.setSsn("123456");
+        teacher.setFirstname("Anna");
+        teacher.setLastname("Papadopoulou");
+        teacher.setSpeciality(speciality);
+        teacher.setUser(user("anna"));
+
+        City city = new City();
+        city.setCityName("Athens");
+        student = new Student();
+        student.setId(1L);
+        student.setFirstname("Nikos");
+        student.setLastname("Georgiou");
+        student.setGender(Gender.M);
+        student.setBirthDate(LocalDate.of(2004, 3, 17));
+        student.setCity(city);
+        student.setUser(user("nikos"));
+    }
+
+    @Benchmark
+    public TeacherReadOnlyDTO mapTeacher() {
+        return ReadOnlyDTOMapper.mapFrom(teacher);
+    }
+
+    @Benchmark
+    public StudentReadOnlyDTO mapStudent() {
+        return ReadOnlyDTOMapper.mapFrom(student);
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret");
+        return user;
+    }
+}
@@ -0,0 +1,87 @@
+package gr.aueb.cf.springschoolapp.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import gr.aueb.cf.springschoolapp.config.CachedWriterHttpMessageConverter;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.service.ITeacherService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Requests per second of {@code GET /api/teachers?lastname=} with a
+ * response of {@value #ROWS} teachers, through Spring MVC, in the
+ * default and in the high-throughput JSON mode
+ * ({@link gr.aueb.cf.springschoolapp.config.JsonConfig}).
+ * The service is a stub, so only the web and JSON layers are measured.
+ *
+ * @author Thanasis Chousiadas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TeacherListResponseBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"default", "high-throughput"})
+    private String mode;
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        List<TeacherReadOnlyDTO> teachers = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            teachers.add(new TeacherReadOnlyDTO((long) i, String.format("%06d", i),
+                    "Firstname" + i, "Lastname" + i, "Mathematics", "teacher" + i));
+        }
+        ITeacherService teacherService = (ITeacherService) Proxy.newProxyInstance(
+                ITeacherService.class.getClassLoader(),
+                new Class<?>[] {ITeacherService.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getTeachersByLastname")) {
+                        return teachers;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        MappingJackson2HttpMessageConverter converter;
+        if (mode.equals("high-throughput")) {
+            ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                    .modulesToInstall(new BlackbirdModule())
+                    .build();
+            converter = new CachedWriterHttpMessageConverter(objectMapper);
+        } else {
+            converter = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        }
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new TeacherRestResource(teacherService, null, null, converter.getObjectMapper()))
+                .setMessageConverters(converter)
+                .build();
+    }
+
+    @Benchmark
+    public MvcResult getTeachersByLastname() throws Exception {
+        return mockMvc.perform(get("/api/teachers").param("lastname", "Last")).andReturn();
+    }
+}
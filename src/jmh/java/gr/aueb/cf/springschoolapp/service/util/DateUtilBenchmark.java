@@ -0,0 +1,78 @@
+package gr.aueb.cf.springschoolapp.service.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and formatting cost of the {@link DateUtil} codecs, used
+ * for every student birthdate and meeting date on the API.
+ * <p>
+ * The {@code legacy*} benchmarks keep the former birthdate codec, a
+ * per-thread {@link SimpleDateFormat}, as the baseline of the
+ * {@link LocalDate} one; compare their {@code gc.alloc.rate.norm}.
+ *
+ * @author Thanasis Chousiadas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateUtilBenchmark {
+
+    private static final ThreadLocal<DateFormat> legacyDateFormat =
+            ThreadLocal.withInitial(() -> new SimpleDateFormat("dd-MM-yyyy"));
+
+    private String dateString;
+    private String dateTimeString;
+    private LocalDate localDate;
+    private Date date;
+
+    @Setup
+    public void setUp() throws ParseException {
+        dateString = "17-03-2004";
+        dateTimeString = "17-03-2024 10:30";
+        localDate = DateUtil.toLocalDate(dateString);
+        date = legacyDateFormat.get().parse(dateString);
+    }
+
+    @Benchmark
+    public LocalDate toLocalDate() {
+        return DateUtil.toLocalDate(dateString);
+    }
+
+    @Benchmark
+    public String toLocalDateString() {
+        return DateUtil.toString(localDate);
+    }
+
+    @Benchmark
+    public Date legacyToDate() throws ParseException {
+        return legacyDateFormat.get().parse(dateString);
+    }
+
+    @Benchmark
+    public String legacyToDateString() {
+        return legacyDateFormat.get().format(date);
+    }
+
+    @Benchmark
+    public Date toDateTime() throws ParseException {
+        return DateUtil.toDateTime(dateTimeString);
+    }
+
+    @Benchmark
+    public String toDateTimeString() {
+        return DateUtil.toDateTimeString(date);
+    }
+}
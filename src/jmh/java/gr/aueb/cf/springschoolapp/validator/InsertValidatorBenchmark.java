@@ -0,0 +1,93 @@
+package gr.aueb.cf.springschoolapp.validator;
+
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherInsertDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the insert validators, with a new binding result per
+ * call as in the REST resources. The invalid inputs measure the
+ * error path, where every field is rejected.
+ *
+ * @author Thanasis Chousiadas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InsertValidatorBenchmark {
+
+    private final TeacherInsertValidator teacherInsertValidator = new TeacherInsertValidator();
+    private final StudentInsertValidator studentInsertValidator = new StudentInsertValidator();
+
+    private TeacherInsertDTO validTeacher;
+    private TeacherInsertDTO invalidTeacher;
+    private StudentInsertDTO validStudent;
+    private StudentInsertDTO invalidStudent;
+
+    @Setup
+    public void setUp() {
+        validTeacher = teacher("123456", "Anna", "Papadopoulou");
+        invalidTeacher = teacher("12", " ", "P");
+        validStudent = student("Nikos", "Georgiou");
+        invalidStudent = student(" ", "G");
+    }
+
+    @Benchmark
+    public Errors validateValidTeacher() {
+        return validate(teacherInsertValidator, validTeacher, "teacherInsertDTO");
+    }
+
+    @Benchmark
+    public Errors validateInvalidTeacher() {
+        return validate(teacherInsertValidator, invalidTeacher, "teacherInsertDTO");
+    }
+
+    @Benchmark
+    public Errors validateValidStudent() {
+        return validate(studentInsertValidator, validStudent, "studentInsertDTO");
+    }
+
+    @Benchmark
+    public Errors validateInvalidStudent() {
+        return validate(studentInsertValidator, invalidStudent, "studentInsertDTO");
+    }
+
+    private static Errors validate(Validator validator, Object target, String name) {
+        Errors errors = new BeanPropertyBindingResult(target, name);
+        validator.validate(target, errors);
+        return errors;
+    }
+
+    private static TeacherInsertDTO teacher(String ssn, String firstname, String lastname) {
+        TeacherInsertDTO dto = new TeacherInsertDTO();
+        dto.setSsn(ssn);
+        dto.setFirstname(firstname);
+        dto.setLastname(lastname);
+        dto.setSpeciality("Mathematics");
+        dto.setUsername("anna");
+        return dto;
+    }
+
+    private static StudentInsertDTO student(String firstname, String lastname) {
+        StudentInsertDTO dto = new StudentInsertDTO();
+        dto.setFirstname(firstname);
+        dto.setLastname(lastname);
+        dto.setGender("M");
+        dto.setBirthdate(LocalDate.of(2004, 3, 17));
+        dto.setCity("Athens");
+        dto.setUsername("nikos");
+        return dto;
+    }
+}
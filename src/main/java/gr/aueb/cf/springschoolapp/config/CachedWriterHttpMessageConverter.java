@@ -0,0 +1,66 @@
+package gr.aueb.cf.springschoolapp.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jackson converter that writes collection responses, e.g.
+ * {@code List<TeacherReadOnlyDTO>}, with an {@link ObjectWriter}
+ * cached per declared type. The writer keeps the resolved serializer
+ * of the whole type, so the elements are written without any
+ * per-request serializer lookup, straight to the response stream.
+ * <p>
+ * Other values, and values wrapped in a {@link MappingJacksonValue}
+ * (JSON views, filters), are written by the default implementation.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class CachedWriterHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Map<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public CachedWriterHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (type == null || !(object instanceof Collection)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        JavaType javaType = getJavaType(type, null);
+        if (!javaType.isCollectionLikeType()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        ObjectWriter writer = writers.computeIfAbsent(javaType, t -> getObjectMapper().writerFor(t));
+        JsonEncoding encoding = getJsonEncoding(outputMessage.getHeaders().getContentType());
+        // the response stream is closed by the container, not by the generator
+        try (JsonGenerator generator = getObjectMapper().getFactory()
+                .createGenerator(outputMessage.getBody(), encoding)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            writer.writeValue(generator, object);
+            generator.flush();
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package gr.aueb.cf.springschoolapp.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * High-throughput JSON serialization mode, enabled with
+ * {@code app.json.high-throughput=true} (the default).
+ * <p>
+ * It registers the Jackson Blackbird module, which replaces the
+ * reflective getter calls of the serializers with generated lambdas,
+ * and a {@link CachedWriterHttpMessageConverter}, which reuses one
+ * {@link com.fasterxml.jackson.databind.ObjectWriter} per response
+ * type instead of resolving it on every request.
+ *
+ * @author Thanasis Chousiadas
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.json.high-throughput", havingValue = "true", matchIfMissing = true)
+public class JsonConfig {
+
+    /**
+     * Spring Boot registers every {@link Module} bean
+     * in the application's {@link ObjectMapper}.
+     *
+     * @return the Blackbird module.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Replaces the default Jackson converter of Spring MVC.
+     *
+     * @param objectMapper the application's {@link ObjectMapper}.
+     * @return the converter.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new CachedWriterHttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,54 @@
+package gr.aueb.cf.springschoolapp.dto.autocompletedto;
+
+/**
+ * The Data Transfer Object for a lastname autocomplete
+ * suggestion. It holds the id of the student or teacher
+ * and the lastname as it is stored.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class LastnameMatchDTO {
+    private Long id;
+    private String lastname;
+
+    /**
+     * Default constructor.
+     */
+    public LastnameMatchDTO() {
+    }
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param id       the id of the student or teacher.
+     * @param lastname the lastname.
+     */
+    public LastnameMatchDTO(Long id, String lastname) {
+        this.id = id;
+        this.lastname = lastname;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getLastname() {
+        return lastname;
+    }
+
+    public void setLastname(String lastname) {
+        this.lastname = lastname;
+    }
+
+    @Override
+    public String toString() {
+        return "LastnameMatchDTO{" +
+                "id=" + id +
+                ", lastname='" + lastname + '\'' +
+                '}';
+    }
+}
@@ -1,13 +1,25 @@
 package gr.aueb.cf.springschoolapp.dto.citydto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@Data
-@NoArgsConstructor
+@Value
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CityReadOnlyDTO {
-    private Long id;
-    private String cityName;
+    Long id;
+    String cityName;
+    Long studentCount;
+
+    /**
+     * Overloaded constructor used when the number of
+     * students is not requested.
+     *
+     * @param id       the id of the city.
+     * @param cityName the name of the city.
+     */
+    public CityReadOnlyDTO(Long id, String cityName) {
+        this(id, cityName, null);
+    }
 }
@@ -0,0 +1,60 @@
+package gr.aueb.cf.springschoolapp.dto.meetingdto;
+
+public class MeetingReadOnlyDTO {
+    private Long id;
+    private Long teacherId;
+    private String meetingRoom;
+    private String meetingDate;
+
+    public MeetingReadOnlyDTO() {
+    }
+
+    public MeetingReadOnlyDTO(Long id, Long teacherId, String meetingRoom, String meetingDate) {
+        this.id = id;
+        this.teacherId = teacherId;
+        this.meetingRoom = meetingRoom;
+        this.meetingDate = meetingDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTeacherId() {
+        return teacherId;
+    }
+
+    public void setTeacherId(Long teacherId) {
+        this.teacherId = teacherId;
+    }
+
+    public String getMeetingRoom() {
+        return meetingRoom;
+    }
+
+    public void setMeetingRoom(String meetingRoom) {
+        this.meetingRoom = meetingRoom;
+    }
+
+    public String getMeetingDate() {
+        return meetingDate;
+    }
+
+    public void setMeetingDate(String meetingDate) {
+        this.meetingDate = meetingDate;
+    }
+
+    @Override
+    public String toString() {
+        return "MeetingReadOnlyDTO{" +
+                "id=" + id +
+                ", teacherId=" + teacherId +
+                ", meetingRoom='" + meetingRoom + '\'' +
+                ", meetingDate='" + meetingDate + '\'' +
+                '}';
+    }
+}
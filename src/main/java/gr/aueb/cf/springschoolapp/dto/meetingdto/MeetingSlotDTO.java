@@ -0,0 +1,49 @@
+package gr.aueb.cf.springschoolapp.dto.meetingdto;
+
+import java.util.Date;
+
+/**
+ * Projection of the fields of a meeting that take part
+ * in conflict detection.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingSlotDTO {
+    private final Long id;
+    private final Long teacherId;
+    private final String meetingRoom;
+    private final Date meetingDatetime;
+
+    public MeetingSlotDTO(Long id, Long teacherId, String meetingRoom, Date meetingDatetime) {
+        this.id = id;
+        this.teacherId = teacherId;
+        this.meetingRoom = meetingRoom;
+        this.meetingDatetime = meetingDatetime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTeacherId() {
+        return teacherId;
+    }
+
+    public String getMeetingRoom() {
+        return meetingRoom;
+    }
+
+    public Date getMeetingDatetime() {
+        return meetingDatetime;
+    }
+
+    @Override
+    public String toString() {
+        return "MeetingSlotDTO{" +
+                "id=" + id +
+                ", teacherId=" + teacherId +
+                ", meetingRoom='" + meetingRoom + '\'' +
+                ", meetingDatetime=" + meetingDatetime +
+                '}';
+    }
+}
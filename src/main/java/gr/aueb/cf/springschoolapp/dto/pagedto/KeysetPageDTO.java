@@ -0,0 +1,78 @@
+package gr.aueb.cf.springschoolapp.dto.pagedto;
+
+import java.util.List;
+
+/**
+ * The Data Transfer Object for a page of results read
+ * with keyset (seek) pagination. The {@code next} token is
+ * opaque for the client and must be sent back as-is to
+ * fetch the following page. It is null on the last page.
+ *
+ * @param <T> the type of the page elements.
+ * @author Thanasis Chousiadas
+ */
+public class KeysetPageDTO<T> {
+    private List<T> content;
+    private String next;
+
+    /**
+     * Default constructor.
+     */
+    public KeysetPageDTO() {
+    }
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param content the elements of this page.
+     * @param next    the continuation token, or null if this is the last page.
+     */
+    public KeysetPageDTO(List<T> content, String next) {
+        this.content = content;
+        this.next = next;
+    }
+
+    /**
+     * Getter for the elements of this page.
+     *
+     * @return a list with the elements.
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * Setter for the elements of this page.
+     *
+     * @param content a list with the elements.
+     */
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    /**
+     * Getter for the continuation token.
+     *
+     * @return the token of the next page, or null.
+     */
+    public String getNext() {
+        return next;
+    }
+
+    /**
+     * Setter for the continuation token.
+     *
+     * @param next the token of the next page, or null.
+     */
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPageDTO{" +
+                "content=" + content +
+                ", next='" + next + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+package gr.aueb.cf.springschoolapp.dto.pagedto;
+
+import java.util.List;
+
+/**
+ * The Data Transfer Object for the result of a multi-get,
+ * i.e. a lookup of many records by id. The {@code content}
+ * follows the order of the requested ids and {@code missing}
+ * lists the requested ids that do not exist.
+ *
+ * @param <T> the type of the elements.
+ * @author Thanasis Chousiadas
+ */
+public class MultiGetDTO<T> {
+    private List<T> content;
+    private List<Long> missing;
+
+    /**
+     * Default constructor.
+     */
+    public MultiGetDTO() {
+    }
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param content the found elements, in the order of the requested ids.
+     * @param missing the requested ids that were not found.
+     */
+    public MultiGetDTO(List<T> content, List<Long> missing) {
+        this.content = content;
+        this.missing = missing;
+    }
+
+    /**
+     * Getter for the found elements.
+     *
+     * @return a list with the elements.
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * Setter for the found elements.
+     *
+     * @param content a list with the elements.
+     */
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    /**
+     * Getter for the ids that were not found.
+     *
+     * @return a list with the missing ids.
+     */
+    public List<Long> getMissing() {
+        return missing;
+    }
+
+    /**
+     * Setter for the ids that were not found.
+     *
+     * @param missing a list with the missing ids.
+     */
+    public void setMissing(List<Long> missing) {
+        this.missing = missing;
+    }
+}
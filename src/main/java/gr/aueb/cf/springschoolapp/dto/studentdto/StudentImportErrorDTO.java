@@ -0,0 +1,53 @@
+package gr.aueb.cf.springschoolapp.dto.studentdto;
+
+/**
+ * The Data Transfer Object for a row of a students' CSV
+ * import that could not be inserted.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class StudentImportErrorDTO {
+    private long row;
+    private String message;
+
+    /**
+     * Default constructor.
+     */
+    public StudentImportErrorDTO() {
+    }
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param row     the line number of the row in the CSV file.
+     * @param message the reason the row was rejected.
+     */
+    public StudentImportErrorDTO(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentImportErrorDTO{" +
+                "row=" + row +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
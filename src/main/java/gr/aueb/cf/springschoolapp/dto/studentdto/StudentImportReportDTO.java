@@ -0,0 +1,56 @@
+package gr.aueb.cf.springschoolapp.dto.studentdto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Data Transfer Object with the outcome of a students'
+ * CSV import. It holds the number of rows read and inserted,
+ * and the rows that were rejected with their reason.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class StudentImportReportDTO {
+    private long rows;
+    private long inserted;
+    private List<StudentImportErrorDTO> errors = new ArrayList<>();
+
+    /**
+     * Default constructor.
+     */
+    public StudentImportReportDTO() {
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(long inserted) {
+        this.inserted = inserted;
+    }
+
+    public List<StudentImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<StudentImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentImportReportDTO{" +
+                "rows=" + rows +
+                ", inserted=" + inserted +
+                ", errors=" + errors.size() +
+                '}';
+    }
+}
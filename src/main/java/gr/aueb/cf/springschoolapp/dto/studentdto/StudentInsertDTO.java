@@ -1,5 +1,9 @@
 package gr.aueb.cf.springschoolapp.dto.studentdto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import gr.aueb.cf.springschoolapp.service.util.StrictLocalDateDeserializer;
+
+import java.time.LocalDate;
 
 /**
  * The Data Transfer Object for data needed in
@@ -11,7 +15,8 @@ public class StudentInsertDTO {
     private String firstname;
     private String lastname;
     private String gender;
-    private String birthdate;
+    @JsonDeserialize(using = StrictLocalDateDeserializer.class)
+    private LocalDate birthdate;
     private String city;
     private String username;
 
@@ -32,7 +37,7 @@ public class StudentInsertDTO {
      * @param username    foreign key of the user in the Users table.
      */
     public StudentInsertDTO(
-            String firstname, String lastname, String gender, String birthdate, String city, String username) {
+            String firstname, String lastname, String gender, LocalDate birthdate, String city, String username) {
         this.firstname = firstname;
         this.lastname = lastname;
         this.gender = gender;
@@ -100,7 +105,7 @@ public class StudentInsertDTO {
      *
      * @return the birthdate of the student.
      */
-    public String getBirthdate() {
+    public LocalDate getBirthdate() {
         return birthdate;
     }
 
@@ -109,7 +114,7 @@ public class StudentInsertDTO {
      *
      * @param birthdate the brithdate of the student.
      */
-    public void setBirthdate(String birthdate) {
+    public void setBirthdate(LocalDate birthdate) {
         this.birthdate = birthdate;
     }
 
@@ -135,7 +140,7 @@ public class StudentInsertDTO {
                 "firstname='" + firstname + '\'' +
                 ", lastname='" + lastname + '\'' +
                 ", gender='" + gender + '\'' +
-                ", birthdate='" + birthdate + '\'' +
+                ", birthdate=" + birthdate +
                 ", city='" + city + '\'' +
                 ", username='" + username + '\'' +
                 '}';
@@ -1,19 +1,35 @@
 package gr.aueb.cf.springschoolapp.dto.studentdto;
 
-
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import gr.aueb.cf.springschoolapp.model.Gender;
+import gr.aueb.cf.springschoolapp.service.util.DateUtil;
+import gr.aueb.cf.springschoolapp.service.util.ETags;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of a student, as returned by the API.
+ * Instances are immutable; they are built from the
+ * projections of IStudentRepository or from a
+ * {@link gr.aueb.cf.springschoolapp.model.Student} entity.
+ *
+ * @author Thanasis Chousiadas
+ */
 public class StudentReadOnlyDTO {
-    private Long id;
-    private String firstname;
-    private String lastname;
-    private String gender;
-    private String birthdate;
-    private String city;
-    private String username;
-
-    public StudentReadOnlyDTO() {
-    }
-
-    public StudentReadOnlyDTO(Long id, String firstname, String lastname, String gender, String birthdate, String city, String username) {
+    private final Long id;
+    private final String firstname;
+    private final String lastname;
+    private final String gender;
+    @JsonFormat(pattern = DateUtil.DATE_PATTERN)
+    private final LocalDate birthdate;
+    private final String city;
+    private final String username;
+    private final Long version;
+    private final Long userVersion;
+
+    public StudentReadOnlyDTO(Long id, String firstname, String lastname, String gender, LocalDate birthdate,
+                              String city, String username, Long version, Long userVersion) {
         this.id = id;
         this.firstname = firstname;
         this.lastname = lastname;
@@ -21,62 +37,58 @@ public class StudentReadOnlyDTO {
         this.birthdate = birthdate;
         this.city = city;
         this.username = username;
+        this.version = version;
+        this.userVersion = userVersion;
     }
 
-    public Long getId() {
-        return id;
+    /**
+     * Constructor for the constructor-expression projections
+     * of IStudentRepository. It formats the gender as the
+     * REST layer does.
+     */
+    public StudentReadOnlyDTO(Long id, String firstname, String lastname, Gender gender, LocalDate birthDate,
+                              String city, String username, Long version, Long userVersion) {
+        this(id, firstname, lastname,
+                gender == null ? null : gender.getLabel(),
+                birthDate,
+                city, username, version, userVersion);
     }
 
-    public void setId(Long id) {
-        this.id = id;
+    public Long getId() {
+        return id;
     }
 
     public String getFirstname() {
         return firstname;
     }
 
-    public void setFirstname(String firstname) {
-        this.firstname = firstname;
-    }
-
     public String getLastname() {
         return lastname;
     }
 
-    public void setLastname(String lastname) {
-        this.lastname = lastname;
-    }
-
     public String getGender() {
         return gender;
     }
 
-    public void setGender(String gender) {
-        this.gender = gender;
-    }
-
-    public String getBirthdate() {
+    public LocalDate getBirthdate() {
         return birthdate;
     }
 
-    public void setBirthdate(String birthdate) {
-        this.birthdate = birthdate;
-    }
-
     public String getCity() {
         return city;
     }
 
-    public void setCity(String city) {
-        this.city = city;
-    }
-
     public String getUsername() {
         return username;
     }
 
-    public void setUsername(String username) {
-        this.username = username;
+    /**
+     * The ETag of the student, if the versions were loaded.
+     * It is sent as a header, not in the body.
+     */
+    @JsonIgnore
+    public String getEtag() {
+        return version == null ? null : ETags.of(version, userVersion, cityName);
     }
 
     @Override
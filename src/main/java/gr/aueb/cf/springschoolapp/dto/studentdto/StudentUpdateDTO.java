@@ -1,8 +1,11 @@
 package gr.aueb.cf.springschoolapp.dto.studentdto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import gr.aueb.cf.springschoolapp.service.util.StrictLocalDateDeserializer;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
+import java.time.LocalDate;
 
 /**
  * The Data Transfer Object for data needed in update
@@ -20,7 +23,8 @@ public class StudentUpdateDTO {
     private String lastname;
     @Size(min = 1, max = 1, message = "Gender must be F (Female) or M (Male)")
     private String gender;
-    private String birthdate;
+    @JsonDeserialize(using = StrictLocalDateDeserializer.class)
+    private LocalDate birthdate;
     private String city;
     @NotBlank(message = "Username is mandatory")
     private String username;
@@ -47,7 +51,7 @@ public class StudentUpdateDTO {
             String firstname,
             String lastname,
             String gender,
-            String birthdate,
+            LocalDate birthdate,
             String city,
             String username
     ) {
@@ -120,11 +124,11 @@ public class StudentUpdateDTO {
         this.gender = gender;
     }
 
-    public String getBirthdate() {
+    public LocalDate getBirthdate() {
         return birthdate;
     }
 
-    public void setBirthdate(String birthdate) {
+    public void setBirthdate(LocalDate birthdate) {
         this.birthdate = birthdate;
     }
 
@@ -151,7 +155,7 @@ public class StudentUpdateDTO {
                 ", firstname='" + firstname + '\'' +
                 ", lastname='" + lastname + '\'' +
                 ", gender='" + gender + '\'' +
-                ", birthdate='" + birthdate + '\'' +
+                ", birthdate=" + birthdate +
                 ", city='" + city + '\'' +
                 ", username='" + username + '\'' +
                 '}';
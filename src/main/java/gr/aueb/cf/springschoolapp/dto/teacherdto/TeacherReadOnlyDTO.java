@@ -1,71 +1,73 @@
 package gr.aueb.cf.springschoolapp.dto.teacherdto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import gr.aueb.cf.springschoolapp.service.util.ETags;
+
+/**
+ * Read-only view of a teacher, as returned by the API.
+ * Instances are immutable; they are built from the
+ * projections of ITeacherRepository or from a
+ * {@link gr.aueb.cf.springschoolapp.model.Teacher} entity.
+ *
+ * @author Thanasis Chousiadas
+ */
 public class TeacherReadOnlyDTO {
-    private Long id;
-    private String ssn;
-    private String firstname;
-    private String lastname;
-    private String specialityName;
-    private String username;
+    private final Long id;
+    private final String ssn;
+    private final String firstname;
+    private final String lastname;
+    private final String specialityName;
+    private final String username;
+    private final Long version;
+    private final Long userVersion;
 
-    public TeacherReadOnlyDTO() {
+    public TeacherReadOnlyDTO(Long id, String ssn, String firstname, String lastname, String specialityName, String username) {
+        this(id, ssn, firstname, lastname, specialityName, username, null, null);
     }
 
-    public TeacherReadOnlyDTO(Long id, String ssn, String firstname, String lastname, String specialityName, String username) {
+    public TeacherReadOnlyDTO(Long id, String ssn, String firstname, String lastname, String specialityName,
+                              String username, Long version, Long userVersion) {
         this.id = id;
         this.ssn = ssn;
         this.firstname = firstname;
         this.lastname = lastname;
         this.specialityName = specialityName;
         this.username = username;
+        this.version = version;
+        this.userVersion = userVersion;
     }
 
     public Long getId() {
         return id;
     }
 
-    public void setId(Long id) {
-        this.id = id;
-    }
-
     public String getSsn() {
         return ssn;
     }
 
-    public void setSsn(String ssn) {
-        this.ssn = ssn;
-    }
-
     public String getFirstname() {
         return firstname;
     }
 
-    public void setFirstname(String firstname) {
-        this.firstname = firstname;
-    }
-
     public String getLastname() {
         return lastname;
     }
 
-    public void setLastname(String lastname) {
-        this.lastname = lastname;
-    }
-
     public String getSpecialityName() {
         return specialityName;
     }
 
-    public void setSpecialityName(String specialityName) {
-        this.specialityName = specialityName;
-    }
-
     public String getUsername() {
         return username;
     }
 
-    public void setUsername(String username) {
-        this.username = username;
+    /**
+     * The ETag of the teacher, if the versions were loaded.
+     * It is sent as a header, not in the body.
+     */
+    @JsonIgnore
+    public String getEtag() {
+        return version == null ? null : ETags.of(version, userVersion, specialityName);
     }
 
     @Override
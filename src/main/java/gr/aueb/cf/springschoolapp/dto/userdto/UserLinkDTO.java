@@ -0,0 +1,40 @@
+package gr.aueb.cf.springschoolapp.dto.userdto;
+
+/**
+ * Projection of the link between a student or a teacher
+ * (the owner) and its user account.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class UserLinkDTO {
+    private final Long ownerId;
+    private final Long userId;
+    private final String username;
+
+    public UserLinkDTO(Long ownerId, Long userId, String username) {
+        this.ownerId = ownerId;
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "UserLinkDTO{" +
+                "ownerId=" + ownerId +
+                ", userId=" + userId +
+                ", username='" + username + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,36 @@
+package gr.aueb.cf.springschoolapp.dto.userdto;
+
+/**
+ * The Data Transfer Object with the answer to whether
+ * a username can be used for a new {@link gr.aueb.cf.springschoolapp.model.User}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class UsernameAvailabilityDTO {
+    private String username;
+    private boolean available;
+
+    public UsernameAvailabilityDTO() {
+    }
+
+    public UsernameAvailabilityDTO(String username, boolean available) {
+        this.username = username;
+        this.available = available;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+}
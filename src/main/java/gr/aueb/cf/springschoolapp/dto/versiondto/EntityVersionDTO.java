@@ -0,0 +1,47 @@
+package gr.aueb.cf.springschoolapp.dto.versiondto;
+
+import gr.aueb.cf.springschoolapp.service.util.ETags;
+
+/**
+ * Projection of the version of a student or a teacher, of its
+ * user and of the name of its city or speciality, which together
+ * make up its ETag.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class EntityVersionDTO {
+    private final long version;
+    private final Long userVersion;
+    private final String referenceName;
+
+    public EntityVersionDTO(long version, Long userVersion, String referenceName) {
+        this.version = version;
+        this.userVersion = userVersion;
+        this.referenceName = referenceName;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Long getUserVersion() {
+        return userVersion;
+    }
+
+    public String getReferenceName() {
+        return referenceName;
+    }
+
+    public String getEtag() {
+        return ETags.of(version, userVersion, referenceName);
+    }
+
+    @Override
+    public String toString() {
+        return "EntityVersionDTO{" +
+                "version=" + version +
+                ", userVersion=" + userVersion +
+                ", referenceName='" + referenceName + '\'' +
+                '}';
+    }
+}
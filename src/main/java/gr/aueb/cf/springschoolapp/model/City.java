@@ -1,6 +1,9 @@
 package gr.aueb.cf.springschoolapp.model;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -13,23 +16,28 @@ import java.util.List;
  * @author Thanasis Chousiadas
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "CITIES")
 public class City {
     @Id
     @Column(name = "ID")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "CITIES_SEQ")
+    @SequenceGenerator(name = "CITIES_SEQ", sequenceName = "CITIES_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(name = "CITY", length = 50, nullable = false, unique = true)
     private String cityName;
 
-    @OneToMany(mappedBy = "city", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "city", fetch = FetchType.LAZY)
     private List<Student> students = new ArrayList<>();
 
 
     /**
      * Convenient method for adding a student
      * for a certain city.
+     * With the enhanced build, setting the relation
+     * on the other side already adds it to the list.
      *
      * @param student instance of entity {@link Student}
      * @return true if the student is added successfully,
@@ -40,7 +48,9 @@ public class City {
             return false;
         }
         student.setCity(this);
-        this.students.add(student);
+        if (!this.students.contains(student)) {
+            this.students.add(student);
+        }
         return true;
     }
 
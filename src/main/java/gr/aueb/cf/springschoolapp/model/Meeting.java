@@ -2,24 +2,28 @@ package gr.aueb.cf.springschoolapp.model;
 
 
 import javax.persistence.*;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Hibernate Entity class for MEETINGS table.
  * N - 1 relation with TEACHERS table
- * N - N relation with STUDENTS table
+ * N - N relation with STUDENTS table, owned by {@link Student}
  *
  * @author Thanasis Chousiadas
  */
 @Entity
-@Table(name = "MEETINGS")
+@Table(name = "MEETINGS", indexes = {
+        @Index(name = "IDX_MEETINGS_TEACHER_ID_DATETIME", columnList = "TEACHER_ID, MEETING_DATETIME"),
+        @Index(name = "IDX_MEETINGS_ROOM_DATETIME", columnList = "MEETING_ROOM, MEETING_DATETIME")
+})
 public class Meeting {
     @Id
     @Column(name = "ID")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "MEETINGS_SEQ")
+    @SequenceGenerator(name = "MEETINGS_SEQ", sequenceName = "MEETINGS_SEQ", allocationSize = 50)
     private Long id;
     @Column(name = "MEETING_ROOM", length = 45, nullable = true, unique = false)
     private String meetingRoom;
@@ -30,56 +34,32 @@ public class Meeting {
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "TEACHER_ID", nullable = true)
     private Teacher teacher;
-    @ManyToMany
-    @JoinTable(
-            name = "MEETINGS_STUDENTS",
-            joinColumns = @JoinColumn(name = "MEETING_ID", referencedColumnName = "ID"),
-            inverseJoinColumns = @JoinColumn(name = "STUDENT_ID", referencedColumnName = "ID")
-    )
-    private List<Student> students = new ArrayList<>();
+    @ManyToMany(mappedBy = "meetings")
+    private Set<Student> students = new HashSet<>();
 
     /**
      * Convenient method for adding a new student
-     * for a meeting.
+     * for a meeting. Both sides of the relation are
+     * updated.
      *
      * @param student instance of {@link Student} entity.
      * @return true if the student is added successfully,
      * otherwise false.
      */
     public boolean addStudent(Student student) {
-        if (student == null) {
-            return false;
-        }
-        for (Meeting meeting : student.getMeetings()) {
-            if (meeting == this) {
-                return false;
-            }
-        }
-        students.add(student);
-        return true;
+        return student != null && student.addMeeting(this);
     }
 
     /**
      * Convenient method for deleting a student from the
-     * meeting.
+     * meeting. Both sides of the relation are updated.
      *
      * @param student instance of {@link Student} entity.
      * @return true if the student is deleted successfully,
      * otherwise false.
      */
     public boolean deleteStudent(Student student) {
-        boolean found = false;
-        this.students.remove(student);
-        for (Meeting meeting : student.getAllMeetings()) {
-            if (meeting == this) {
-                found = true;
-                break;
-            }
-        }
-        if (found) {
-            student.deleteMeeting(this);
-        }
-        return found;
+        return student != null && student.deleteMeeting(this);
     }
 
     /**
@@ -148,33 +128,33 @@ public class Meeting {
     }
 
     /**
-     * Protected Getter for the list of students.
+     * Protected Getter for the set of students.
      * Clients should not have explicit access.
      *
-     * @return a list of students.
+     * @return a set of students.
      */
-    protected List<Student> getStudents() {
+    protected Set<Student> getStudents() {
         return students;
     }
 
     /**
-     * Protected Setter for the list of students.
+     * Protected Setter for the set of students.
      * Clients should not have explicit access.
      *
-     * @param students the list of meeting of this student.
+     * @param students the set of students of this meeting.
      */
-    protected void setStudents(List<Student> students) {
+    protected void setStudents(Set<Student> students) {
         this.students = students;
     }
 
     /**
-     * Returns an unmodifiable view of the list
+     * Returns an unmodifiable view of the set
      * students.
      *
-     * @return a list of students.
+     * @return a set of students.
      */
-    public List<Student> getAllStudents() {
-        return Collections.unmodifiableList(students);
+    public Set<Student> getAllStudents() {
+        return Collections.unmodifiableSet(students);
     }
 
     @Override
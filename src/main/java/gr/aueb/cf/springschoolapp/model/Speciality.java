@@ -1,5 +1,8 @@
 package gr.aueb.cf.springschoolapp.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,22 +14,27 @@ import java.util.List;
  * @author Thanasis Chousiadas
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "SPECIALITIES")
 public class Speciality {
     @Id
     @Column(name = "ID")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SPECIALITIES_SEQ")
+    @SequenceGenerator(name = "SPECIALITIES_SEQ", sequenceName = "SPECIALITIES_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(name = "SPECIALITY", length = 50, nullable = false, unique = true)
     private String specialityName;
 
-    @OneToMany(mappedBy = "speciality", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "speciality", fetch = FetchType.LAZY)
     private List<Teacher> teachers = new ArrayList<>();
 
     /**
      * Convenient method for adding a new teacher in for
      * a certain speciality.
+     * With the enhanced build, setting the relation
+     * on the other side already adds it to the list.
      *
      * @param teacher {@link Teacher} entity.
      * @return true if the teacher is added successfully,
@@ -37,7 +45,9 @@ public class Speciality {
             return false;
         }
         teacher.setSpeciality(this);
-        this.teachers.add(teacher);
+        if (!this.teachers.contains(teacher)) {
+            this.teachers.add(teacher);
+        }
         return true;
     }
 
@@ -1,10 +1,15 @@
 package gr.aueb.cf.springschoolapp.model;
 
+import gr.aueb.cf.springschoolapp.service.index.LastnameIndexListener;
+
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+
 import javax.persistence.*;
-import java.util.ArrayList;
+import java.time.LocalDate;
 import java.util.Collections;
-import java.util.Date;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Hibernate Entity class for STUDENTS table.
@@ -15,11 +20,16 @@ import java.util.List;
  * @author Thanasis Chousiadas
  */
 @Entity
-@Table(name = "STUDENTS")
+@DynamicUpdate
+@EntityListeners(LastnameIndexListener.class)
+@Table(name = "STUDENTS", indexes = {
+        @Index(name = "IDX_STUDENTS_LASTNAME_ID", columnList = "LASTNAME, ID")
+})
 public class Student {
     @Id
     @Column(name = "ID")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "STUDENTS_SEQ")
+    @SequenceGenerator(name = "STUDENTS_SEQ", sequenceName = "STUDENTS_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(name = "FIRSTNAME", length = 50, nullable = true, unique = false)
@@ -33,67 +43,61 @@ public class Student {
     private Gender gender;
 
     @Column(name = "BIRTH_DAY")
-    private Date birthDate;
+    private LocalDate birthDate;
 
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "CITY_ID", nullable = true)
     private City city;
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "USER_ID", referencedColumnName = "ID")
     private User user;
 
+    // enrolments do not change the version (and ETag) of the student
+    @OptimisticLock(excluded = true)
     @ManyToMany
     @JoinTable(
             name = "STUDENTS_MEETINGS",
             joinColumns = @JoinColumn(name="STUDENT_ID", referencedColumnName = "ID"),
             inverseJoinColumns = @JoinColumn(name = "MEETING_ID", referencedColumnName = "ID")
     )
-    private List<Meeting> meetings = new ArrayList<>();
+    private Set<Meeting> meetings = new HashSet<>();
+
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private long version;
 
     /**
      * Convenient method for adding a new meeting
-     * for a student.
+     * for a student. Both sides of the relation are
+     * updated.
      *
      * @param meeting instance of {@link Meeting} entity.
      * @return true if the meeting is added successfully,
      * otherwise false.
      */
     public boolean addMeeting(Meeting meeting) {
-        if (meeting == null) {
+        if (meeting == null || !meetings.add(meeting)) {
             return false;
         }
-
-        for (Student student : meeting.getStudents()) {
-            if (student == this) {
-                return false;
-            }
-        }
-        meetings.add(meeting);
+        meeting.getStudents().add(this);
         return true;
     }
 
     /**
      * Convenient method for deleting a meeting from the
-     * student.
+     * student. Both sides of the relation are updated.
      *
      * @param meeting instance of {@link Meeting} entity.
      * @return true if the meeting is deleted successfully,
      * otherwise false.
      */
     public boolean deleteMeeting(Meeting meeting) {
-        boolean found = false;
-        this.meetings.remove(meeting);
-        for (Student student : meeting.getAllStudents()) {
-            if (student == this) {
-                found = true;
-                break;
-            }
-        }
-        if (found) {
-            meeting.deleteStudent(this);
+        if (meeting == null || !meetings.remove(meeting)) {
+            return false;
         }
-        return found;
+        meeting.getStudents().remove(this);
+        return true;
     }
 
     /**
@@ -114,6 +118,16 @@ public class Student {
         this.id = id;
     }
 
+    /**
+     * Getter for the version of the entity, incremented by
+     * Hibernate on every update (optimistic locking).
+     *
+     * @return the version of the entity.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Getter for the firstname of the student.
      *
@@ -171,18 +185,18 @@ public class Student {
     /**
      * Getter for the birthdate of the student.
      *
-     * @return {@link Date} with the birthdate of a student.
+     * @return {@link LocalDate} with the birthdate of a student.
      */
-    public Date getBirthDate() {
+    public LocalDate getBirthDate() {
         return birthDate;
     }
 
     /**
      * Setter for the birthdate of a student.
      *
-     * @param birthDate {@link Date} with the birthdate of a student.
+     * @param birthDate {@link LocalDate} with the birthdate of a student.
      */
-    public void setBirthDate(Date birthDate) {
+    public void setBirthDate(LocalDate birthDate) {
         this.birthDate = birthDate;
     }
 
@@ -227,33 +241,33 @@ public class Student {
     }
 
     /**
-     * Protected Getter for the list of meetings.
+     * Protected Getter for the set of meetings.
      * Clients should not have explicit access.
      *
-     * @return a list of meetings.
+     * @return a set of meetings.
      */
-    protected List<Meeting> getMeetings() {
+    protected Set<Meeting> getMeetings() {
         return meetings;
     }
 
     /**
-     * Protected Setter for the list of meetings.
+     * Protected Setter for the set of meetings.
      * Clients should not have explicit access.
      *
-     * @param meetings the list of meeting of this student.
+     * @param meetings the set of meetings of this student.
      */
-    protected void setMeetings(List<Meeting> meetings) {
+    protected void setMeetings(Set<Meeting> meetings) {
         this.meetings = meetings;
     }
 
     /**
-     * Returns an unmodifiable view of the list
+     * Returns an unmodifiable view of the set
      * meetings.
      *
-     * @return a list of meetings.
+     * @return a set of meetings.
      */
-    public List<Meeting> getAllMeetings() {
-        return Collections.unmodifiableList(meetings);
+    public Set<Meeting> getAllMeetings() {
+        return Collections.unmodifiableSet(meetings);
     }
 
     /**
@@ -1,6 +1,11 @@
 package gr.aueb.cf.springschoolapp.model;
 
 
+import gr.aueb.cf.springschoolapp.service.index.LastnameIndexListener;
+
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -15,11 +20,16 @@ import java.util.List;
  * @author Thanasis Chousiadas
  */
 @Entity
-@Table(name = "TEACHERS")
+@DynamicUpdate
+@EntityListeners(LastnameIndexListener.class)
+@Table(name = "TEACHERS", indexes = {
+        @Index(name = "IDX_TEACHERS_SPECIALITY_ID", columnList = "SPECIALITY_ID")
+})
 public class Teacher {
     @Id
     @Column(name = "ID")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "TEACHERS_SEQ")
+    @SequenceGenerator(name = "TEACHERS_SEQ", sequenceName = "TEACHERS_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(name = "SSN", length = 6, nullable = false, unique = true)
@@ -35,16 +45,23 @@ public class Teacher {
     @JoinColumn(name = "SPECIALITY_ID", nullable = true)
     private Speciality speciality;
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "USER_ID", referencedColumnName = "ID")
     private User user;
 
+    // meetings do not change the version (and ETag) of the teacher
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "teacher")
     private List<Meeting> meetings = new ArrayList<>();
 
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private long version;
+
     /**
      * Convenient method for adding a new meeting
-     * for a teacher.
+     * for a teacher. With the enhanced build, setting the
+     * teacher of the meeting already adds it to the list.
      *
      * @param meeting the meeting to be added.
      * @return true is it is added successfully,
@@ -55,7 +72,9 @@ public class Teacher {
             return false;
         }
         meeting.setTeacher(this);
-        meetings.add(meeting);
+        if (!meetings.contains(meeting)) {
+            meetings.add(meeting);
+        }
         return true;
     }
 
@@ -77,6 +96,16 @@ public class Teacher {
         this.id = id;
     }
 
+    /**
+     * Getter for the version of the entity, incremented by
+     * Hibernate on every update (optimistic locking).
+     *
+     * @return the version of the entity.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Getter for the Social Security Number of the entity
      * {@link Teacher}.
@@ -7,6 +7,11 @@ import javax.persistence.*;
  * Hibernate Entity class for USERS table.
  * 1 - 1 relation with STUDENTS table
  * 1 - 1 relation with TEACHERS table.
+ * <p>
+ * The relations are mapped only on the owning side
+ * ({@link Student#getUser()}, {@link Teacher#getUser()}).
+ * An inverse one-to-one cannot be proxied, so it would cost
+ * two extra selects for every loaded user.
  *
  * @author Thanasis Chousiadas
  */
@@ -15,7 +20,8 @@ import javax.persistence.*;
 public class User {
     @Id
     @Column(name = "ID")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "USERS_SEQ")
+    @SequenceGenerator(name = "USERS_SEQ", sequenceName = "USERS_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(name = "USERNAME", length = 50, nullable = false, unique = true)
@@ -24,11 +30,9 @@ public class User {
     @Column(name = "PASSWORD", length = 150, nullable = false, unique = false)
     private String password;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Teacher teacher;
-
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Student student;
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private long version;
 
     /**
      * Getter for the id of the entity.
@@ -48,6 +52,16 @@ public class User {
         this.id = id;
     }
 
+    /**
+     * Getter for the version of the entity, incremented by
+     * Hibernate on every update (optimistic locking).
+     *
+     * @return the version of the entity.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Getter for the username of the entity.
      *
@@ -84,44 +98,6 @@ public class User {
         this.password = password;
     }
 
-    /**
-     * Getter for the {@link Teacher} entity which has a 1 - 1 relation.
-     * Null if there is no relation.
-     *
-     * @return an instance of {@link Teacher}.
-     */
-    public Teacher getTeacher() {
-        return teacher;
-    }
-
-    /**
-     * Setter for the {@link Teacher} entity which has a 1 - 1 relation.
-     *
-     * @param teacher a {@link Teacher} object or null if there is no relation.
-     */
-    public void setTeacher(Teacher teacher) {
-        this.teacher = teacher;
-    }
-
-    /**
-     * Getter for the {@link Student} entity which has a 1 - 1 relation.
-     * Null if there is no relation.
-     *
-     * @return an instance of {@link Student}.
-     */
-    public Student getStudent() {
-        return student;
-    }
-
-    /**
-     * Setter for the {@link Student} entity which has a 1 - 1 relation.
-     *
-     * @param student a {@link Student} object or null if there is no relation.
-     */
-    public void setStudent(Student student) {
-        this.student = student;
-    }
-
     /**
      * The state representation of an instance of this
      * entity in a string.
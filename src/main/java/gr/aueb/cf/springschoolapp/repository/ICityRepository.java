@@ -1,9 +1,27 @@
 package gr.aueb.cf.springschoolapp.repository;
 
+import gr.aueb.cf.springschoolapp.dto.citydto.CityReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.model.City;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 public interface ICityRepository extends JpaRepository<City, Long> {
     City getById(Long id);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     City getCityByCityName(String cityName);
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.citydto.CityReadOnlyDTO(C.id, C.cityName) " +
+            "FROM City C ORDER BY C.cityName")
+    List<CityReadOnlyDTO> findAllReadOnly();
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.citydto.CityReadOnlyDTO(C.id, C.cityName, COUNT(S.id)) " +
+            "FROM City C LEFT JOIN C.students S GROUP BY C.id, C.cityName ORDER BY C.cityName")
+    List<CityReadOnlyDTO> findAllReadOnlyWithStudentCount();
 }
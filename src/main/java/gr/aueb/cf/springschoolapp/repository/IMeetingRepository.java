@@ -0,0 +1,57 @@
+package gr.aueb.cf.springschoolapp.repository;
+
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingSlotDTO;
+import gr.aueb.cf.springschoolapp.model.Meeting;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface IMeetingRepository extends JpaRepository<Meeting, Long> {
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingSlotDTO(" +
+            "M.id, M.teacher.id, M.meetingRoom, M.meetingDatetime) " +
+            "FROM Meeting M WHERE M.meetingDatetime >= ?1")
+    Stream<MeetingSlotDTO> streamSlotsFrom(Date from);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Meeting M SET M.teacher = NULL WHERE M.teacher.id IN ?1")
+    int clearTeacherByTeacherIdIn(Collection<Long> teacherIds);
+
+    // Keyset range scans over IDX_MEETINGS_TEACHER_ID_DATETIME and IDX_MEETINGS_ROOM_DATETIME.
+    // The first page passes after = from and afterId = -1; the next pages pass the last row seen.
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingSlotDTO(" +
+            "M.id, M.teacher.id, M.meetingRoom, M.meetingDatetime) " +
+            "FROM Meeting M WHERE M.teacher.id = :teacherId " +
+            "AND M.meetingDatetime >= :after AND M.meetingDatetime < :to " +
+            "AND (M.meetingDatetime > :after OR M.id > :afterId) " +
+            "ORDER BY M.meetingDatetime, M.id")
+    List<MeetingSlotDTO> findTeacherSlotsAfter(@Param("teacherId") Long teacherId,
+                                               @Param("after") Date after,
+                                               @Param("afterId") Long afterId,
+                                               @Param("to") Date to,
+                                               Pageable pageable);
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingSlotDTO(" +
+            "M.id, M.teacher.id, M.meetingRoom, M.meetingDatetime) " +
+            "FROM Meeting M WHERE M.meetingRoom = :room " +
+            "AND M.meetingDatetime >= :after AND M.meetingDatetime < :to " +
+            "AND (M.meetingDatetime > :after OR M.id > :afterId) " +
+            "ORDER BY M.meetingDatetime, M.id")
+    List<MeetingSlotDTO> findRoomSlotsAfter(@Param("room") String room,
+                                            @Param("after") Date after,
+                                            @Param("afterId") Long afterId,
+                                            @Param("to") Date to,
+                                            Pageable pageable);
+}
@@ -1,9 +1,33 @@
 package gr.aueb.cf.springschoolapp.repository;
 
+import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.model.Speciality;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 public interface ISpecialityRepository extends JpaRepository<Speciality, Long> {
     Speciality getById(Long id);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Speciality getSpecialityBySpecialityName(String specialityName);
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityReadOnlyDTO(S.id, S.specialityName) " +
+            "FROM Speciality S ORDER BY S.specialityName")
+    List<SpecialityReadOnlyDTO> findAllReadOnly();
+
+    @Query(value = "SELECT new gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO(" +
+            "T.id, T.ssn, T.firstname, T.lastname, S.specialityName, U.username) " +
+            "FROM Teacher T JOIN T.speciality S LEFT JOIN T.user U " +
+            "WHERE S.id = ?1 ORDER BY T.lastname, T.id",
+            countQuery = "SELECT COUNT(T) FROM Teacher T WHERE T.speciality.id = ?1")
+    Page<TeacherReadOnlyDTO> findTeachersBySpecialityId(Long specialityId, Pageable pageable);
 }
@@ -1,11 +1,82 @@
 package gr.aueb.cf.springschoolapp.repository;
 
+import gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO;
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.dto.userdto.UserLinkDTO;
+import gr.aueb.cf.springschoolapp.dto.versiondto.EntityVersionDTO;
 import gr.aueb.cf.springschoolapp.model.Student;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface IStudentRepository extends JpaRepository<Student, Long> {
+    String READ_ONLY = "SELECT new gr.aueb.cf.springschoolapp.dto.studentdto.StudentReadOnlyDTO(" +
+            "S.id, S.firstname, S.lastname, S.gender, S.birthDate, C.cityName, U.username, S.version, U.version) " +
+            "FROM Student S LEFT JOIN S.city C LEFT JOIN S.user U ";
+
+    // the eager city is joined instead of selected once per distinct city
+    @Override
+    @EntityGraph(attributePaths = "city")
+    List<Student> findAll();
+
     Student getById(Long id);
-    List<Student> getStudentsByLastnameStartingWith(String lastname);
+
+    @Query(READ_ONLY + "WHERE S.id = ?1")
+    StudentReadOnlyDTO findReadOnlyById(Long id);
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.versiondto.EntityVersionDTO(" +
+            "S.version, U.version, C.cityName) " +
+            "FROM Student S LEFT JOIN S.city C LEFT JOIN S.user U WHERE S.id = ?1")
+    EntityVersionDTO findVersionById(Long id);
+
+    @Query(READ_ONLY + "WHERE S.id IN ?1")
+    List<StudentReadOnlyDTO> findReadOnlyByIdIn(Collection<Long> ids);
+
+    @Query(READ_ONLY + "WHERE S.lastname LIKE :#{escape(#prefix)}% ESCAPE :#{escapeCharacter()} " +
+            "ORDER BY S.lastname, S.id")
+    List<StudentReadOnlyDTO> findReadOnlyByLastnamePrefix(@Param("prefix") String prefix);
+
+    @Query("SELECT S.user.id FROM Student S WHERE S.user.id IN ?1")
+    List<Long> findUserIdsIn(Collection<Long> userIds);
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.userdto.UserLinkDTO(S.id, U.id, U.username) " +
+            "FROM Student S LEFT JOIN S.user U WHERE S.id IN ?1")
+    List<UserLinkDTO> findUserLinksByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.userdto.UserLinkDTO(S.id, U.id, U.username) " +
+            "FROM Student S JOIN S.user U WHERE U.id IN ?1")
+    List<UserLinkDTO> findUserLinksByUserIdIn(Collection<Long> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM STUDENTS_MEETINGS WHERE STUDENT_ID IN (?1)", nativeQuery = true)
+    int deleteMeetingLinksByStudentIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO(S.id, S.lastname) " +
+            "FROM Student S")
+    Stream<LastnameMatchDTO> streamAllLastnames();
+
+    @Query(READ_ONLY + "WHERE S.lastname LIKE :#{escape(#prefix)}% ESCAPE :#{escapeCharacter()} " +
+            "ORDER BY S.lastname, S.id")
+    List<StudentReadOnlyDTO> findFirstByLastnamePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query(READ_ONLY + "WHERE S.lastname LIKE :#{escape(#prefix)}% ESCAPE :#{escapeCharacter()} " +
+            "AND (S.lastname > :lastname OR (S.lastname = :lastname AND S.id > :id)) " +
+            "ORDER BY S.lastname, S.id")
+    List<StudentReadOnlyDTO> findNextByLastnamePrefix(
+            @Param("prefix") String prefix,
+            @Param("lastname") String lastname,
+            @Param("id") Long id,
+            Pageable pageable);
 }
@@ -1,12 +1,65 @@
 package gr.aueb.cf.springschoolapp.repository;
 
+import gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.dto.userdto.UserLinkDTO;
+import gr.aueb.cf.springschoolapp.dto.versiondto.EntityVersionDTO;
 import gr.aueb.cf.springschoolapp.model.Teacher;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ITeacherRepository extends JpaRepository<Teacher, Long> {
+    String READ_ONLY = "SELECT new gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO(" +
+            "T.id, T.ssn, T.firstname, T.lastname, S.specialityName, U.username, T.version, U.version) " +
+            "FROM Teacher T LEFT JOIN T.speciality S LEFT JOIN T.user U ";
+
+    // the eager speciality is joined instead of selected once per distinct speciality
+    @Override
+    @EntityGraph(attributePaths = "speciality")
+    List<Teacher> findAll();
+
     Teacher getTeacherBySsn(String ssn);
     Teacher getById(Long id);
-    List<Teacher> getTeachersByLastnameStartingWith(String lastname);
+
+    @Query(READ_ONLY + "WHERE T.id = ?1")
+    TeacherReadOnlyDTO findReadOnlyById(Long id);
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.versiondto.EntityVersionDTO(" +
+            "T.version, U.version, S.specialityName) " +
+            "FROM Teacher T LEFT JOIN T.speciality S LEFT JOIN T.user U WHERE T.id = ?1")
+    EntityVersionDTO findVersionById(Long id);
+
+    @Query(READ_ONLY + "WHERE T.id IN ?1")
+    List<TeacherReadOnlyDTO> findReadOnlyByIdIn(Collection<Long> ids);
+
+    @Query(READ_ONLY + "WHERE T.lastname LIKE :#{escape(#prefix)}% ESCAPE :#{escapeCharacter()} " +
+            "ORDER BY T.lastname, T.id")
+    List<TeacherReadOnlyDTO> findReadOnlyByLastnamePrefix(@Param("prefix") String prefix);
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.userdto.UserLinkDTO(T.id, U.id, U.username) " +
+            "FROM Teacher T LEFT JOIN T.user U WHERE T.id IN ?1")
+    List<UserLinkDTO> findUserLinksByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.userdto.UserLinkDTO(T.id, U.id, U.username) " +
+            "FROM Teacher T JOIN T.user U WHERE U.id IN ?1")
+    List<UserLinkDTO> findUserLinksByUserIdIn(Collection<Long> userIds);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(READ_ONLY + "ORDER BY T.id")
+    Stream<TeacherReadOnlyDTO> streamAllReadOnly();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO(T.id, T.lastname) " +
+            "FROM Teacher T")
+    Stream<LastnameMatchDTO> streamAllLastnames();
 }
@@ -1,10 +1,17 @@
 package gr.aueb.cf.springschoolapp.repository;
 
+import gr.aueb.cf.springschoolapp.dto.userdto.UserReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface IUserRepository extends JpaRepository<User, Long> {
     User findUserByUsernameEquals(String username);
@@ -14,4 +21,16 @@ public interface IUserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT count(*) > 0 FROM User U WHERE U.username = ?1")
     boolean isUsernameValid(String username);
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.userdto.UserReadOnlyDTO(U.id, U.username) " +
+            "FROM User U WHERE U.username IN ?1")
+    List<UserReadOnlyDTO> findReadOnlyByUsernameIn(Collection<String> usernames);
+
+    @Query("SELECT new gr.aueb.cf.springschoolapp.dto.userdto.UserReadOnlyDTO(U.id, U.username) " +
+            "FROM User U WHERE U.id IN ?1")
+    List<UserReadOnlyDTO> findReadOnlyByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT U.username FROM User U")
+    Stream<String> streamAllUsernames();
 }
@@ -6,14 +6,18 @@ import gr.aueb.cf.springschoolapp.dto.citydto.CityUpdateDTO;
 import gr.aueb.cf.springschoolapp.model.City;
 import gr.aueb.cf.springschoolapp.service.ICityService;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
+import gr.aueb.cf.springschoolapp.service.util.JsonSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -28,10 +32,14 @@ import java.util.List;
 public class CityRestResource {
 
     private final ICityService cityService;
+    private final CacheControl cacheControl;
 
     @Autowired
-    public CityRestResource(ICityService cityService) {
+    public CityRestResource(
+            ICityService cityService,
+            @Value("${app.reference-data.max-age:PT1M}") Duration maxAge) {
         this.cityService = cityService;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
     }
 
     @RequestMapping(path = "/cities/{id}", method = RequestMethod.GET)
@@ -47,15 +55,28 @@ public class CityRestResource {
         }
     }
 
+    /**
+     * Serves all the cities from the pre-serialized snapshot, with an
+     * ETag, so a matching If-None-Match is answered with 304.
+     */
     @RequestMapping(path = "/cities", method = RequestMethod.GET)
-    public ResponseEntity<List<CityReadOnlyDTO>> getAllCities() {
+    public ResponseEntity<byte[]> getAllCities(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            List<City> cities = cityService.getAllCities();
+            JsonSnapshot snapshot = cityService.getAllCitiesSnapshot();
+            return SnapshotResponses.from(snapshot, ifNoneMatch, acceptEncoding, cacheControl);
+        } catch (EntityNotFoundException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
 
-            List<CityReadOnlyDTO> citiesReadOnly = new ArrayList<>();
-            for (City city : cities) {
-                citiesReadOnly.add(mapFrom(city));
-            }
+    @RequestMapping(path = "/cities", method = RequestMethod.GET, params = "studentCount")
+    public ResponseEntity<List<CityReadOnlyDTO>> getAllCities(
+            @RequestParam("studentCount") boolean studentCount) {
+        try {
+            List<CityReadOnlyDTO> citiesReadOnly = cityService.getAllCitiesReadOnly(studentCount);
             return new ResponseEntity<>(citiesReadOnly, HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             e.printStackTrace();
@@ -0,0 +1,201 @@
+package gr.aueb.cf.springschoolapp.rest;
+
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingSlotDTO;
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingUpdateDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.KeysetPageDTO;
+import gr.aueb.cf.springschoolapp.model.Meeting;
+import gr.aueb.cf.springschoolapp.service.IMeetingService;
+import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
+import gr.aueb.cf.springschoolapp.service.exception.MeetingConflictException;
+import gr.aueb.cf.springschoolapp.service.util.DateUtil;
+import gr.aueb.cf.springschoolapp.validator.MeetingInsertValidator;
+import gr.aueb.cf.springschoolapp.validator.MeetingUpdateValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Meetings controller class.
+ * Handles API calls (requests) and
+ * manages the responses. Double-bookings
+ * are answered with 409 (Conflict).
+ *
+ * @author Thanasis Chousiadas
+ */
+@RestController
+@RequestMapping("/api")
+public class MeetingRestResource {
+
+    private final IMeetingService meetingService;
+    private final MeetingInsertValidator meetingInsertValidator;
+    private final MeetingUpdateValidator meetingUpdateValidator;
+
+    @Autowired
+    public MeetingRestResource(
+            IMeetingService meetingService,
+            MeetingInsertValidator meetingInsertValidator,
+            MeetingUpdateValidator meetingUpdateValidator) {
+        this.meetingService = meetingService;
+        this.meetingInsertValidator = meetingInsertValidator;
+        this.meetingUpdateValidator = meetingUpdateValidator;
+    }
+
+    @RequestMapping(path = "/meetings/{id}", method = RequestMethod.GET)
+    public ResponseEntity<MeetingReadOnlyDTO> getMeeting(@PathVariable("id") long id) {
+        try {
+            Meeting meeting = meetingService.getMeetingById(id);
+            return new ResponseEntity<>(mapFrom(meeting), HttpStatus.OK);
+        } catch (EntityNotFoundException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @RequestMapping(path = "/teachers/{id}/meetings", method = RequestMethod.GET)
+    public ResponseEntity<KeysetPageDTO<MeetingReadOnlyDTO>> getTeacherMeetings(
+            @PathVariable("id") Long id,
+            @RequestParam("from") String from,
+            @RequestParam("to") String to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            KeysetPageDTO<MeetingSlotDTO> page = meetingService.getMeetingsByTeacher(
+                    id, DateUtil.toDateTime(from), DateUtil.toDateTime(to), cursor, size);
+
+            List<MeetingReadOnlyDTO> readOnlyDTOS = new ArrayList<>();
+            for (MeetingSlotDTO slot : page.getContent()) {
+                readOnlyDTOS.add(mapFrom(slot));
+            }
+            return new ResponseEntity<>(new KeysetPageDTO<>(readOnlyDTOS, page.getNext()), HttpStatus.OK);
+        } catch (ParseException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @RequestMapping(path = "/meetings", method = RequestMethod.GET, params = "room")
+    public ResponseEntity<KeysetPageDTO<MeetingReadOnlyDTO>> getRoomMeetings(
+            @RequestParam("room") String room,
+            @RequestParam("from") String from,
+            @RequestParam("to") String to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            KeysetPageDTO<MeetingSlotDTO> page = meetingService.getMeetingsByRoom(
+                    room, DateUtil.toDateTime(from), DateUtil.toDateTime(to), cursor, size);
+
+            List<MeetingReadOnlyDTO> readOnlyDTOS = new ArrayList<>();
+            for (MeetingSlotDTO slot : page.getContent()) {
+                readOnlyDTOS.add(mapFrom(slot));
+            }
+            return new ResponseEntity<>(new KeysetPageDTO<>(readOnlyDTOS, page.getNext()), HttpStatus.OK);
+        } catch (ParseException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @RequestMapping(path = "/meetings", method = RequestMethod.POST)
+    public ResponseEntity<MeetingReadOnlyDTO> addMeeting(
+            @RequestBody MeetingInsertDTO dto,
+            BindingResult bindingResult) {
+        meetingInsertValidator.validate(dto, bindingResult);
+
+        if (bindingResult.hasErrors()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            Meeting meeting = meetingService.insertMeeting(dto);
+
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(meeting.getId())
+                    .toUri();
+            return ResponseEntity.created(location).body(mapFrom(meeting));
+        } catch (MeetingConflictException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (EntityNotFoundException | ParseException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @RequestMapping(path = "/meetings/{id}", method = RequestMethod.DELETE)
+    public ResponseEntity<MeetingReadOnlyDTO> deleteMeeting(@PathVariable("id") long id) {
+        try {
+            Meeting meeting = meetingService.deleteMeeting(id);
+            return new ResponseEntity<>(mapFrom(meeting), HttpStatus.OK);
+        } catch (EntityNotFoundException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @RequestMapping(path = "/meetings/{id}", method = RequestMethod.PUT)
+    public ResponseEntity<MeetingReadOnlyDTO> updateMeeting(
+            @PathVariable("id") Long id,
+            @RequestBody MeetingUpdateDTO dto,
+            BindingResult bindingResult) {
+        if (!Objects.equals(id, dto.getId())) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        meetingUpdateValidator.validate(dto, bindingResult);
+        if (bindingResult.hasErrors()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            Meeting meeting = meetingService.updateMeeting(dto);
+            return new ResponseEntity<>(mapFrom(meeting), HttpStatus.OK);
+        } catch (MeetingConflictException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (EntityNotFoundException | ParseException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * This method maps a {@link Meeting} object to
+     * {@link MeetingReadOnlyDTO} object.
+     *
+     * @param meeting a {@link Meeting} object.
+     * @return a {@link MeetingReadOnlyDTO} object.
+     */
+    private MeetingReadOnlyDTO mapFrom(Meeting meeting) {
+        return new MeetingReadOnlyDTO(
+                meeting.getId(),
+                meeting.getTeacher() == null ? null : meeting.getTeacher().getId(),
+                meeting.getMeetingRoom(),
+                DateUtil.toDateTimeString(meeting.getMeetingDatetime())
+        );
+    }
+
+    /**
+     * This method maps a {@link MeetingSlotDTO} projection to
+     * {@link MeetingReadOnlyDTO} object.
+     *
+     * @param slot a {@link MeetingSlotDTO} object.
+     * @return a {@link MeetingReadOnlyDTO} object.
+     */
+    private MeetingReadOnlyDTO mapFrom(MeetingSlotDTO slot) {
+        return new MeetingReadOnlyDTO(
+                slot.getId(),
+                slot.getTeacherId(),
+                slot.getMeetingRoom(),
+                DateUtil.toDateTimeString(slot.getMeetingDatetime())
+        );
+    }
+}
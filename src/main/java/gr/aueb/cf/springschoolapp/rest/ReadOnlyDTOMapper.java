@@ -0,0 +1,62 @@
+package gr.aueb.cf.springschoolapp.rest;
+
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.model.Student;
+import gr.aueb.cf.springschoolapp.model.Teacher;
+
+/**
+ * A utility class that maps the {@link Teacher} and {@link Student}
+ * entities returned by the write endpoints to their read-only DTOs.
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class ReadOnlyDTOMapper {
+
+    /**
+     * No instances of this should be available.
+     */
+    private ReadOnlyDTOMapper() {
+    }
+
+    /**
+     * This method maps a {@link Teacher} object to
+     * {@link TeacherReadOnlyDTO} object.
+     *
+     * @param teacher a {@link Teacher} object.
+     * @return a {@link TeacherReadOnlyDTO} object.
+     */
+    public static TeacherReadOnlyDTO mapFrom(Teacher teacher) {
+        return new TeacherReadOnlyDTO(
+                teacher.getId(),
+                teacher.getSsn(),
+                teacher.getFirstname(),
+                teacher.getLastname(),
+                teacher.getSpeciality().getSpecialityName(),
+                teacher.getUser().getUsername(),
+                teacher.getVersion(),
+                teacher.getUser().getVersion()
+        );
+    }
+
+    /**
+     * This method maps a {@link Student} object to
+     * {@link StudentReadOnlyDTO} object.
+     *
+     * @param student a {@link Student} object.
+     * @return a {@link StudentReadOnlyDTO} object
+     */
+    public static StudentReadOnlyDTO mapFrom(Student student) {
+        return new StudentReadOnlyDTO(
+                student.getId(),
+                student.getFirstname(),
+                student.getLastname(),
+                student.getGender().getLabel(),
+                student.getBirthDate(),
+                student.getCity().getCityName(),
+                student.getUser().getUsername(),
+                student.getVersion(),
+                student.getUser().getVersion()
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package gr.aueb.cf.springschoolapp.rest;
+
+import gr.aueb.cf.springschoolapp.service.util.JsonSnapshot;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Locale;
+
+/**
+ * Builds the responses of the endpoints that are served from
+ * a pre-serialized {@link JsonSnapshot}.
+ *
+ * @author Thanasis Chousiadas
+ */
+final class SnapshotResponses {
+
+    private static final String GZIP = "gzip";
+
+    /**
+     * No instances of this should be available.
+     */
+    private SnapshotResponses() {
+    }
+
+    /**
+     * Returns 304 Not Modified when the If-None-Match header matches
+     * an ETag of the snapshot, otherwise 200 with the JSON bytes,
+     * gzipped when the client accepts it. The gzipped and the plain
+     * bytes are sent with their own ETags.
+     *
+     * @param snapshot the {@link JsonSnapshot} to serve.
+     * @param ifNoneMatch the If-None-Match request header, may be null.
+     * @param acceptEncoding the Accept-Encoding request header, may be null.
+     * @param cacheControl the Cache-Control of the response.
+     * @return the response entity.
+     */
+    static ResponseEntity<byte[]> from(JsonSnapshot snapshot, String ifNoneMatch,
+                                       String acceptEncoding, CacheControl cacheControl) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? snapshot.getGzipEtag() : snapshot.getEtag();
+
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(snapshot.getGzipped());
+        }
+        return builder.body(snapshot.getJson());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equals(GZIP) && !parts[0].trim().equals("*")) {
+                continue;
+            }
+
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].replace(" ", "");
+                if (param.startsWith("q=") && param.substring(2).matches("0(\\.0{0,3})?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
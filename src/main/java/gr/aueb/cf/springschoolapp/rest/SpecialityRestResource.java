@@ -3,20 +3,25 @@ package gr.aueb.cf.springschoolapp.rest;
 import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityInsertDTO;
 import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityUpdateDTO;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.model.Speciality;
 import gr.aueb.cf.springschoolapp.service.ISpecialityService;
 import gr.aueb.cf.springschoolapp.service.exception.EntityAlreadyExistsException;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
 import gr.aueb.cf.springschoolapp.service.exception.SQLGenericException;
+import gr.aueb.cf.springschoolapp.service.util.JsonSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
 
 /**
  * Specialities controller class.
@@ -29,10 +34,14 @@ import java.util.List;
 @RequestMapping("/api")
 public class SpecialityRestResource {
     private final ISpecialityService specialityService;
+    private final CacheControl cacheControl;
 
     @Autowired
-    public SpecialityRestResource(ISpecialityService specialityService) {
+    public SpecialityRestResource(
+            ISpecialityService specialityService,
+            @Value("${app.reference-data.max-age:PT1M}") Duration maxAge) {
         this.specialityService = specialityService;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
     }
 
     @RequestMapping(path = "/specialities/{id}", method = RequestMethod.GET)
@@ -48,16 +57,31 @@ public class SpecialityRestResource {
         }
     }
 
+    /**
+     * Serves all the specialities from the pre-serialized snapshot, with
+     * an ETag, so a matching If-None-Match is answered with 304.
+     */
     @RequestMapping(path = "/specialities", method = RequestMethod.GET)
-    public ResponseEntity<List<SpecialityReadOnlyDTO>> getAllSpecialities() {
+    public ResponseEntity<byte[]> getAllSpecialities(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            List<Speciality> specialities = specialityService.getAllSpecialities();
+            JsonSnapshot snapshot = specialityService.getAllSpecialitiesSnapshot();
+            return SnapshotResponses.from(snapshot, ifNoneMatch, acceptEncoding, cacheControl);
+        } catch (EntityNotFoundException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
 
-            List<SpecialityReadOnlyDTO> readOnlyDTOS = new ArrayList<>();
-            for (Speciality speciality : specialities) {
-                readOnlyDTOS.add(mapFrom(speciality));
-            }
-            return new ResponseEntity<>(readOnlyDTOS, HttpStatus.OK);
+    @RequestMapping(path = "/specialities/{id}/teachers", method = RequestMethod.GET)
+    public ResponseEntity<Page<TeacherReadOnlyDTO>> getSpecialityTeachers(
+            @PathVariable("id") long id,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            Page<TeacherReadOnlyDTO> teachers = specialityService.getTeachersBySpeciality(id, page, size);
+            return new ResponseEntity<>(teachers, HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
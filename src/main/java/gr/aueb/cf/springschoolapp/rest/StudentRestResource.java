@@ -1,25 +1,37 @@
 package gr.aueb.cf.springschoolapp.rest;
 
+import gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.KeysetPageDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.MultiGetDTO;
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentImportReportDTO;
 import gr.aueb.cf.springschoolapp.dto.studentdto.StudentInsertDTO;
 import gr.aueb.cf.springschoolapp.dto.studentdto.StudentReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.studentdto.StudentUpdateDTO;
 import gr.aueb.cf.springschoolapp.model.Student;
+import gr.aueb.cf.springschoolapp.service.IStudentImportService;
 import gr.aueb.cf.springschoolapp.service.IStudentService;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
-import gr.aueb.cf.springschoolapp.service.util.DateUtil;
+import gr.aueb.cf.springschoolapp.service.exception.EntityVersionConflictException;
+import gr.aueb.cf.springschoolapp.service.util.ETags;
+import gr.aueb.cf.springschoolapp.service.util.MergePatch;
 import gr.aueb.cf.springschoolapp.validator.StudentInsertValidator;
 import gr.aueb.cf.springschoolapp.validator.StudentUpdateValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.text.ParseException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -36,27 +48,25 @@ public class StudentRestResource {
     private final IStudentService studentService;
     private final StudentInsertValidator studentInsertValidator;
     private final StudentUpdateValidator studentUpdateValidator;
+    private final IStudentImportService studentImportService;
 
     @Autowired
     public StudentRestResource(
             IStudentService studentService,
             StudentInsertValidator studentInsertValidator,
-            StudentUpdateValidator studentUpdateValidator) {
+            StudentUpdateValidator studentUpdateValidator,
+            IStudentImportService studentImportService) {
         this.studentService = studentService;
         this.studentInsertValidator = studentInsertValidator;
         this.studentUpdateValidator = studentUpdateValidator;
+        this.studentImportService = studentImportService;
     }
 
     @RequestMapping(path = "/students", method = RequestMethod.GET)
     public ResponseEntity<List<StudentReadOnlyDTO>> getStudentByLastname(
             @RequestParam("lastname") String lastname) {
         try {
-            List<Student> students = studentService.getStudentsByLastname(lastname);
-
-            List<StudentReadOnlyDTO> readOnlyDTOS = new ArrayList<>();
-            for (Student student : students) {
-                readOnlyDTOS.add(mapFrom(student));
-            }
+            List<StudentReadOnlyDTO> readOnlyDTOS = studentService.getStudentsByLastname(lastname);
             return new ResponseEntity<>(readOnlyDTOS, HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             e.printStackTrace();
@@ -64,12 +74,58 @@ public class StudentRestResource {
         }
     }
 
+    @RequestMapping(path = "/students/search", method = RequestMethod.GET)
+    public ResponseEntity<KeysetPageDTO<StudentReadOnlyDTO>> searchStudentsByLastname(
+            @RequestParam("lastname") String lastname,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            KeysetPageDTO<StudentReadOnlyDTO> page = studentService.getStudentsByLastname(lastname, cursor, size);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (EntityNotFoundException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @RequestMapping(path = "/students/autocomplete", method = RequestMethod.GET)
+    public ResponseEntity<List<LastnameMatchDTO>> autocompleteLastname(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return new ResponseEntity<>(studentService.getLastnameSuggestions(prefix, limit), HttpStatus.OK);
+    }
+
+    @RequestMapping(path = "/students", method = RequestMethod.GET, params = "ids")
+    public ResponseEntity<MultiGetDTO<StudentReadOnlyDTO>> getStudentsByIds(@RequestParam("ids") List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            MultiGetDTO<StudentReadOnlyDTO> result = studentService.getStudentsByIds(ids);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Returns a student with its ETag. When If-None-Match is given,
+     * only the version is read first, and an unchanged student
+     * is answered with 304 without loading it.
+     */
     @RequestMapping(path = "/students/{id}", method = RequestMethod.GET)
-    public ResponseEntity<StudentReadOnlyDTO> getTeacher(@PathVariable("id") long id) {
+    public ResponseEntity<StudentReadOnlyDTO> getTeacher(
+            @PathVariable("id") long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            Student student = studentService.getStudentById(id);
-            StudentReadOnlyDTO dto = mapFrom(student);
-            return new ResponseEntity<>(dto, HttpStatus.OK);
+            if (ifNoneMatch != null) {
+                String etag = studentService.getStudentEtag(id);
+                if (ETags.notModified(ifNoneMatch, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+            }
+            StudentReadOnlyDTO dto = studentService.getStudentById(id);
+            return ResponseEntity.ok().eTag(dto.getEtag()).body(dto);
         } catch (EntityNotFoundException e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
@@ -89,7 +145,7 @@ public class StudentRestResource {
         try {
             Student student = studentService.insertStudent(dto);
 
-            StudentReadOnlyDTO studentReadOnly = mapFrom(student);
+            StudentReadOnlyDTO studentReadOnly = ReadOnlyDTOMapper.mapFrom(student);
             URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                     .path("/{id}")
                     .buildAndExpand(student.getId())
@@ -101,20 +157,66 @@ public class StudentRestResource {
         }
     }
 
+    @RequestMapping(path = "/students/import", method = RequestMethod.POST,
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StudentImportReportDTO> importStudents(@RequestParam("file") MultipartFile file) {
+        try (InputStream csv = file.getInputStream()) {
+            StudentImportReportDTO report = studentImportService.importStudents(csv);
+            return new ResponseEntity<>(report, HttpStatus.OK);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @RequestMapping(path = "/students", method = RequestMethod.DELETE, params = "ids")
+    public ResponseEntity<Void> deleteStudents(@RequestParam("ids") List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            studentService.deleteStudents(ids);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (EntityNotFoundException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @RequestMapping(path = "/students/{id}", method = RequestMethod.DELETE)
     public ResponseEntity<StudentReadOnlyDTO> deleteStudent(@PathVariable("id") long id) {
         try {
             Student student = studentService.deleteStudent(id);
-            return new ResponseEntity<>(mapFrom(student), HttpStatus.OK);
+            return new ResponseEntity<>(ReadOnlyDTOMapper.mapFrom(student), HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
+    @RequestMapping(path = "/students/{id}", method = RequestMethod.PATCH, consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<StudentReadOnlyDTO> patchStudent(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> patch) {
+        try {
+            Student student = studentService.patchStudent(id, patch, ifMatch);
+            StudentReadOnlyDTO readOnlyDTO = ReadOnlyDTOMapper.mapFrom(student);
+            return ResponseEntity.ok().eTag(readOnlyDTO.getEtag()).body(readOnlyDTO);
+        } catch (EntityVersionConflictException e) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (EntityNotFoundException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @RequestMapping(path = "/students/{id}", method = RequestMethod.PUT)
     public ResponseEntity<StudentReadOnlyDTO> updateStudent(
             @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody StudentUpdateDTO dto,
             BindingResult bindingResult) {
         if (!Objects.equals(id, dto.getId())) {
@@ -127,30 +229,16 @@ public class StudentRestResource {
         }
 
         try {
-            Student student = studentService.updateStudent(dto);
-            return new ResponseEntity<>(mapFrom(student), HttpStatus.OK);
-        } catch (EntityNotFoundException | ParseException e) {
+            Student student = studentService.updateStudent(dto, ifMatch);
+            StudentReadOnlyDTO readOnlyDTO = ReadOnlyDTOMapper.mapFrom(student);
+            return ResponseEntity.ok().eTag(readOnlyDTO.getEtag()).body(readOnlyDTO);
+        } catch (EntityVersionConflictException e) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (EntityNotFoundException e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
-
-    /**
-     * This method maps a {@link Student} object to
-     * {@link StudentReadOnlyDTO} object.
-     *
-     * @param student a {@link Student} object.
-     * @return a {@link StudentReadOnlyDTO} object
-     */
-    private StudentReadOnlyDTO mapFrom(Student student) {
-        return new StudentReadOnlyDTO(
-                student.getId(),
-                student.getFirstname(),
-                student.getLastname(),
-                student.getGender().getLabel(),
-                DateUtil.toString(student.getBirthDate()),
-                student.getCity().getCityName(),
-                student.getUser().getUsername()
-        );
-    }
 }
@@ -1,24 +1,40 @@
 package gr.aueb.cf.springschoolapp.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.MultiGetDTO;
 import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherInsertDTO;
 import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherUpdateDTO;
 import gr.aueb.cf.springschoolapp.model.Teacher;
 import gr.aueb.cf.springschoolapp.service.ITeacherService;
+import gr.aueb.cf.springschoolapp.service.exception.EntityAlreadyExistsException;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
+import gr.aueb.cf.springschoolapp.service.exception.EntityVersionConflictException;
+import gr.aueb.cf.springschoolapp.service.util.ETags;
+import gr.aueb.cf.springschoolapp.service.util.MergePatch;
 import gr.aueb.cf.springschoolapp.validator.TeacherInsertValidator;
 import gr.aueb.cf.springschoolapp.validator.TeacherUpdateValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 
@@ -33,29 +49,30 @@ import java.util.Objects;
 @RequestMapping("/api")
 public class TeacherRestResource {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final ITeacherService teacherService;
     private final TeacherInsertValidator teacherInsertValidator;
     private final TeacherUpdateValidator teacherUpdateValidator;
+    private final ObjectMapper objectMapper;
 
     @Autowired
     public TeacherRestResource(
             ITeacherService teacherService,
             TeacherInsertValidator teacherInsertValidator,
-            TeacherUpdateValidator teacherUpdateValidator) {
+            TeacherUpdateValidator teacherUpdateValidator,
+            ObjectMapper objectMapper) {
         this.teacherService = teacherService;
         this.teacherInsertValidator = teacherInsertValidator;
         this.teacherUpdateValidator = teacherUpdateValidator;
+        this.objectMapper = objectMapper;
     }
 
     @RequestMapping(path = "/teachers", method = RequestMethod.GET)
     public ResponseEntity<List<TeacherReadOnlyDTO>> getTeacherByLastname(
             @RequestParam("lastname") String lastname) {
         try {
-            List<Teacher> teachers = teacherService.getTeachersByLastname(lastname);
-            List<TeacherReadOnlyDTO> readOnlyDTOS = new ArrayList<>();
-            for (Teacher teacher : teachers) {
-                readOnlyDTOS.add(mapFrom(teacher));
-            }
+            List<TeacherReadOnlyDTO> readOnlyDTOS = teacherService.getTeachersByLastname(lastname);
             return new ResponseEntity<>(readOnlyDTOS, HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             e.printStackTrace();
@@ -63,13 +80,71 @@ public class TeacherRestResource {
         }
     }
 
-    @RequestMapping(path = "/teachers/{id}", method = RequestMethod.GET)
-    public ResponseEntity<TeacherReadOnlyDTO> getTeacher(@PathVariable("id") long id) {
+    /**
+     * Exports all the teachers as newline-delimited JSON. The rows
+     * are written while they are read from the database, so the
+     * memory needed does not depend on the number of teachers.
+     *
+     * @return a streaming body with one {@link TeacherReadOnlyDTO} per line.
+     */
+    @RequestMapping(path = "/teachers/export", method = RequestMethod.GET, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportTeachers() {
+        ObjectWriter writer = objectMapper.writerFor(TeacherReadOnlyDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                teacherService.forEachTeacher(teacher -> {
+                    try {
+                        writer.writeValue(generator, teacher);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @RequestMapping(path = "/teachers/autocomplete", method = RequestMethod.GET)
+    public ResponseEntity<List<LastnameMatchDTO>> autocompleteLastname(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return new ResponseEntity<>(teacherService.getLastnameSuggestions(prefix, limit), HttpStatus.OK);
+    }
+
+    @RequestMapping(path = "/teachers", method = RequestMethod.GET, params = "ids")
+    public ResponseEntity<MultiGetDTO<TeacherReadOnlyDTO>> getTeachersByIds(@RequestParam("ids") List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
         try {
-            Teacher teacher = teacherService.getTeacherById(id);
-            TeacherReadOnlyDTO dto = mapFrom(teacher);
+            MultiGetDTO<TeacherReadOnlyDTO> result = teacherService.getTeachersByIds(ids);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
 
-            return new ResponseEntity<>(dto, HttpStatus.OK);
+    /**
+     * Returns a teacher with its ETag. When If-None-Match is given,
+     * only the version is read first, and an unchanged teacher
+     * is answered with 304 without loading it.
+     */
+    @RequestMapping(path = "/teachers/{id}", method = RequestMethod.GET)
+    public ResponseEntity<TeacherReadOnlyDTO> getTeacher(
+            @PathVariable("id") long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            if (ifNoneMatch != null) {
+                String etag = teacherService.getTeacherEtag(id);
+                if (ETags.notModified(ifNoneMatch, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+            }
+            TeacherReadOnlyDTO dto = teacherService.getTeacherById(id);
+            return ResponseEntity.ok().eTag(dto.getEtag()).body(dto);
         } catch (EntityNotFoundException e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
@@ -88,7 +163,7 @@ public class TeacherRestResource {
         try {
             Teacher teacher = teacherService.insertTeacher(dto);
 
-            TeacherReadOnlyDTO teacherReadOnly = mapFrom(teacher);
+            TeacherReadOnlyDTO teacherReadOnly = ReadOnlyDTOMapper.mapFrom(teacher);
             URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                     .path("/{id}")
                     .buildAndExpand(teacher.getId())
@@ -100,20 +175,54 @@ public class TeacherRestResource {
         }
     }
 
+    @RequestMapping(path = "/teachers", method = RequestMethod.DELETE, params = "ids")
+    public ResponseEntity<Void> deleteTeachers(@RequestParam("ids") List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            teacherService.deleteTeachers(ids);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (EntityNotFoundException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @RequestMapping(path = "/teachers/{id}", method = RequestMethod.DELETE)
     public ResponseEntity<TeacherReadOnlyDTO> deleteTeacher(@PathVariable("id") long id) {
         try {
             Teacher teacher = teacherService.deleteTeacher(id);
-            return new ResponseEntity<>(mapFrom(teacher), HttpStatus.OK);
+            return new ResponseEntity<>(ReadOnlyDTOMapper.mapFrom(teacher), HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
+    @RequestMapping(path = "/teachers/{id}", method = RequestMethod.PATCH, consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<TeacherReadOnlyDTO> patchTeacher(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> patch) {
+        try {
+            Teacher teacher = teacherService.patchTeacher(id, patch, ifMatch);
+            TeacherReadOnlyDTO readOnlyDTO = ReadOnlyDTOMapper.mapFrom(teacher);
+            return ResponseEntity.ok().eTag(readOnlyDTO.getEtag()).body(readOnlyDTO);
+        } catch (EntityVersionConflictException e) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (EntityNotFoundException | EntityAlreadyExistsException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @RequestMapping(path = "/teachers/{id}", method = RequestMethod.PUT)
     public ResponseEntity<TeacherReadOnlyDTO> updateTeacher(
             @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TeacherUpdateDTO dto,
             BindingResult bindingResult) {
         if (!Objects.equals(id, dto.getId())) {
@@ -126,30 +235,16 @@ public class TeacherRestResource {
         }
 
         try {
-            Teacher teacher = teacherService.updateTeacher(dto);
-
-            return new ResponseEntity<>(mapFrom(teacher), HttpStatus.OK);
+            Teacher teacher = teacherService.updateTeacher(dto, ifMatch);
+            TeacherReadOnlyDTO readOnlyDTO = ReadOnlyDTOMapper.mapFrom(teacher);
+            return ResponseEntity.ok().eTag(readOnlyDTO.getEtag()).body(readOnlyDTO);
+        } catch (EntityVersionConflictException e) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         } catch (EntityNotFoundException e) {
             e.printStackTrace();
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
-
-    /**
-     * This method maps a {@link Teacher} object to
-     * {@link TeacherReadOnlyDTO} object.\
-     *
-     * @param teacher a {@link Teacher} object.
-     * @return a {@link TeacherReadOnlyDTO} object.
-     */
-    private TeacherReadOnlyDTO mapFrom(Teacher teacher) {
-        return new TeacherReadOnlyDTO(
-                teacher.getId(),
-                teacher.getSsn(),
-                teacher.getFirstname(),
-                teacher.getLastname(),
-                teacher.getSpeciality().getSpecialityName(),
-                teacher.getUser().getUsername()
-        );
-    }
 }
@@ -1,10 +1,13 @@
 package gr.aueb.cf.springschoolapp.rest;
 
+import gr.aueb.cf.springschoolapp.dto.pagedto.MultiGetDTO;
 import gr.aueb.cf.springschoolapp.dto.userdto.UserReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.userdto.UserRegisterDTO;
 import gr.aueb.cf.springschoolapp.dto.userdto.UserUpdateDTO;
+import gr.aueb.cf.springschoolapp.dto.userdto.UsernameAvailabilityDTO;
 import gr.aueb.cf.springschoolapp.model.User;
 import gr.aueb.cf.springschoolapp.service.IUserService;
+import gr.aueb.cf.springschoolapp.service.IUsernameAvailabilityService;
 import gr.aueb.cf.springschoolapp.service.exception.EntityAlreadyExistsException;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
 import gr.aueb.cf.springschoolapp.service.exception.SQLGenericException;
@@ -15,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 /**
  * Users controller class.
  * Handles API calls (requests) and
@@ -27,10 +31,14 @@ import java.net.URI;
 public class UserRestResource {
 
     private final IUserService userService;
+    private final IUsernameAvailabilityService usernameAvailabilityService;
 
     @Autowired
-    public UserRestResource(IUserService userService) {
+    public UserRestResource(
+            IUserService userService,
+            IUsernameAvailabilityService usernameAvailabilityService) {
         this.userService = userService;
+        this.usernameAvailabilityService = usernameAvailabilityService;
     }
 
     @RequestMapping(path = "/users")
@@ -44,6 +52,25 @@ public class UserRestResource {
         }
     }
 
+    @RequestMapping(path = "/users/available", method = RequestMethod.GET)
+    public ResponseEntity<UsernameAvailabilityDTO> isUsernameAvailable(@RequestParam("username") String username) {
+        boolean available = usernameAvailabilityService.isAvailable(username);
+        return new ResponseEntity<>(new UsernameAvailabilityDTO(username, available), HttpStatus.OK);
+    }
+
+    @RequestMapping(path = "/users", method = RequestMethod.GET, params = "ids")
+    public ResponseEntity<MultiGetDTO<UserReadOnlyDTO>> getUsersByIds(@RequestParam("ids") List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            MultiGetDTO<UserReadOnlyDTO> result = userService.getUsersByIds(ids);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @RequestMapping(path = "/users/{id}", method = RequestMethod.GET)
     public ResponseEntity<UserReadOnlyDTO> getUser(@PathVariable("id") Long id) {
         try {
@@ -69,6 +96,20 @@ public class UserRestResource {
         }
     }
 
+    @RequestMapping(path = "/users", method = RequestMethod.DELETE, params = "ids")
+    public ResponseEntity<Void> deleteUsers(@RequestParam("ids") List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            userService.deleteUsers(ids);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (EntityNotFoundException e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @RequestMapping(path = "/users/{id}", method = RequestMethod.DELETE)
     public ResponseEntity<UserReadOnlyDTO> deleteUser(@PathVariable("id") long id) {
         try {
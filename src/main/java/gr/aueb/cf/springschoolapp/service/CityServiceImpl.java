@@ -1,12 +1,14 @@
 package gr.aueb.cf.springschoolapp.service;
 
 import gr.aueb.cf.springschoolapp.dto.citydto.CityInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.citydto.CityReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.citydto.CityUpdateDTO;
 import gr.aueb.cf.springschoolapp.model.City;
 import gr.aueb.cf.springschoolapp.repository.ICityRepository;
 import gr.aueb.cf.springschoolapp.service.exception.EntityAlreadyExistsException;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
 import gr.aueb.cf.springschoolapp.service.exception.SQLGenericException;
+import gr.aueb.cf.springschoolapp.service.util.JsonSnapshot;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -29,10 +31,17 @@ import java.util.List;
 public class CityServiceImpl implements ICityService {
 
     private final ICityRepository cityRepository;
+    private final ReferenceDataResolver referenceDataResolver;
+    private final ReferenceDataSnapshots referenceDataSnapshots;
 
     @Autowired
-    public CityServiceImpl(ICityRepository cityRepository) {
+    public CityServiceImpl(
+            ICityRepository cityRepository,
+            ReferenceDataResolver referenceDataResolver,
+            ReferenceDataSnapshots referenceDataSnapshots) {
         this.cityRepository = cityRepository;
+        this.referenceDataResolver = referenceDataResolver;
+        this.referenceDataSnapshots = referenceDataSnapshots;
     }
 
 
@@ -61,6 +70,8 @@ public class CityServiceImpl implements ICityService {
             if (city.getId() == null) {
                 throw new Exception("Invalid insertion");
             }
+            referenceDataResolver.refreshCities();
+            referenceDataSnapshots.invalidateCities();
         } catch (Exception e) {
             log.info("Insert Exception");
             throw e;
@@ -88,6 +99,8 @@ public class CityServiceImpl implements ICityService {
             }
 
             updatedCity = cityRepository.save(convertUpdateDTO(dto));
+            referenceDataResolver.refreshCities();
+            referenceDataSnapshots.invalidateCities();
         } catch (EntityNotFoundException e) {
             log.info("Update Exception");
             throw e;
@@ -111,6 +124,8 @@ public class CityServiceImpl implements ICityService {
                 throw new EntityNotFoundException(City.class, id);
             }
             cityRepository.deleteById(id);
+            referenceDataResolver.refreshCities();
+            referenceDataSnapshots.invalidateCities();
         } catch (EntityNotFoundException e) {
             log.info("[Error]: Delete city with id = " + id);
             throw e;
@@ -188,6 +203,58 @@ public class CityServiceImpl implements ICityService {
         return cities;
     }
 
+    /**
+     * This method returns the id and the name of all the cities
+     * without loading the {@link City} entities, so the students
+     * of each city are never touched. If requested, the number of
+     * students of each city is computed by a single grouped query.
+     *
+     * @param withStudentCount true if the number of students of each
+     *                         city should be included.
+     * @return a list with {@link CityReadOnlyDTO} objects.
+     * @throws EntityNotFoundException if there are no cities in the database.
+     */
+    @Override
+    public List<CityReadOnlyDTO> getAllCitiesReadOnly(boolean withStudentCount) throws EntityNotFoundException {
+        List<CityReadOnlyDTO> cities;
+
+        try {
+            cities = withStudentCount
+                    ? cityRepository.findAllReadOnlyWithStudentCount()
+                    : cityRepository.findAllReadOnly();
+            if (cities.size() == 0) {
+                throw new EntityNotFoundException(City.class, 0L);
+            }
+        } catch (EntityNotFoundException e) {
+            log.info("[Error]: Retrieving all Cities from the database.");
+            throw e;
+        }
+        return cities;
+    }
+
+    /**
+     * This method returns all the cities as a pre-serialized JSON
+     * list of {@link CityReadOnlyDTO}, which is rebuilt only after
+     * a change of the cities.
+     *
+     * @return a {@link JsonSnapshot} of the cities.
+     * @throws EntityNotFoundException if there are no cities in the database.
+     */
+    @Override
+    public JsonSnapshot getAllCitiesSnapshot() throws EntityNotFoundException {
+        JsonSnapshot snapshot;
+        try {
+            snapshot = referenceDataSnapshots.cities();
+            if (snapshot.getSize() == 0) {
+                throw new EntityNotFoundException(City.class, 0L);
+            }
+        } catch (EntityNotFoundException e) {
+            log.info("[Error]: Retrieving all Cities from the database.");
+            throw e;
+        }
+        return snapshot;
+    }
+
     private City convertUpdateDTO(CityUpdateDTO dto) {
         City city = new City();
         city.setId(dto.getId());
@@ -2,9 +2,11 @@ package gr.aueb.cf.springschoolapp.service;
 
 
 import gr.aueb.cf.springschoolapp.dto.citydto.CityInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.citydto.CityReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.citydto.CityUpdateDTO;
 import gr.aueb.cf.springschoolapp.model.City;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
+import gr.aueb.cf.springschoolapp.service.util.JsonSnapshot;
 
 import java.util.List;
 
@@ -22,4 +24,6 @@ public interface ICityService {
     City getCityById(Long id) throws EntityNotFoundException;
     City getCityByName(String cityName) throws EntityNotFoundException;
     List<City> getAllCities() throws EntityNotFoundException;
+    List<CityReadOnlyDTO> getAllCitiesReadOnly(boolean withStudentCount) throws EntityNotFoundException;
+    JsonSnapshot getAllCitiesSnapshot() throws EntityNotFoundException;
 }
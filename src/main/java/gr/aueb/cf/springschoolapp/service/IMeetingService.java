@@ -0,0 +1,30 @@
+package gr.aueb.cf.springschoolapp.service;
+
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingSlotDTO;
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingUpdateDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.KeysetPageDTO;
+import gr.aueb.cf.springschoolapp.model.Meeting;
+import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
+import gr.aueb.cf.springschoolapp.service.exception.MeetingConflictException;
+
+import java.text.ParseException;
+import java.util.Date;
+
+/**
+ * This interface declares the Public API
+ * regarding CRUD operations in {@link Meeting}
+ * objects for the Service Layer.
+ *
+ * @author Thanasis Chousiadas
+ */
+public interface IMeetingService {
+    Meeting insertMeeting(MeetingInsertDTO dto)
+            throws EntityNotFoundException, MeetingConflictException, ParseException;
+    Meeting updateMeeting(MeetingUpdateDTO dto)
+            throws EntityNotFoundException, MeetingConflictException, ParseException;
+    Meeting deleteMeeting(Long id) throws EntityNotFoundException;
+    Meeting getMeetingById(Long id) throws EntityNotFoundException;
+    KeysetPageDTO<MeetingSlotDTO> getMeetingsByTeacher(Long teacherId, Date from, Date to, String cursor, int size);
+    KeysetPageDTO<MeetingSlotDTO> getMeetingsByRoom(String meetingRoom, Date from, Date to, String cursor, int size);
+}
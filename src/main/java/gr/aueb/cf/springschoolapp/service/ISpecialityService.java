@@ -2,11 +2,15 @@ package gr.aueb.cf.springschoolapp.service;
 
 
 import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityUpdateDTO;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.model.Speciality;
 import gr.aueb.cf.springschoolapp.service.exception.EntityAlreadyExistsException;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
 import gr.aueb.cf.springschoolapp.service.exception.SQLGenericException;
+import gr.aueb.cf.springschoolapp.service.util.JsonSnapshot;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 
@@ -24,4 +28,7 @@ public interface ISpecialityService {
     Speciality getSpecialityById(Long id) throws EntityNotFoundException;
     Speciality getSpecialityByName(String specialityName) throws EntityNotFoundException;
     List<Speciality> getAllSpecialities() throws EntityNotFoundException;
+    List<SpecialityReadOnlyDTO> getAllSpecialitiesReadOnly() throws EntityNotFoundException;
+    JsonSnapshot getAllSpecialitiesSnapshot() throws EntityNotFoundException;
+    Page<TeacherReadOnlyDTO> getTeachersBySpeciality(Long id, int page, int size) throws EntityNotFoundException;
 }
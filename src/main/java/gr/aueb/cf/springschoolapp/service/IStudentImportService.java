@@ -0,0 +1,18 @@
+package gr.aueb.cf.springschoolapp.service;
+
+
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentImportReportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * This interface declares the Public API
+ * for the bulk import of {@link gr.aueb.cf.springschoolapp.model.Student}
+ * objects for the Service Layer.
+ *
+ * @author Thanasis Chousiadas
+ */
+public interface IStudentImportService {
+    StudentImportReportDTO importStudents(InputStream csv) throws IOException;
+}
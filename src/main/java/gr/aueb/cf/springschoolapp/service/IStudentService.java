@@ -1,14 +1,20 @@
 package gr.aueb.cf.springschoolapp.service;
 
 
+import gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.KeysetPageDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.MultiGetDTO;
 import gr.aueb.cf.springschoolapp.dto.studentdto.StudentInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.studentdto.StudentUpdateDTO;
 import gr.aueb.cf.springschoolapp.model.Student;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
+import gr.aueb.cf.springschoolapp.service.exception.EntityVersionConflictException;
 import gr.aueb.cf.springschoolapp.service.exception.SQLGenericException;
 
-import java.text.ParseException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This interface declares the Public API
@@ -18,9 +24,18 @@ import java.util.List;
  * @author Thanasis Chousiadas
  */
 public interface IStudentService {
-    Student insertStudent(StudentInsertDTO dto) throws SQLGenericException, ParseException;
-    Student updateStudent(StudentUpdateDTO dto) throws ParseException, EntityNotFoundException;
+    Student insertStudent(StudentInsertDTO dto) throws SQLGenericException;
+    Student updateStudent(StudentUpdateDTO dto, String ifMatch)
+            throws EntityNotFoundException, EntityVersionConflictException;
+    Student patchStudent(Long id, Map<String, Object> patch, String ifMatch)
+            throws EntityNotFoundException, EntityVersionConflictException;
     Student deleteStudent(Long id) throws EntityNotFoundException;
-    List<Student> getStudentsByLastname(String lastname) throws EntityNotFoundException;
-    Student getStudentById(Long id) throws EntityNotFoundException;
+    int deleteStudents(Collection<Long> ids) throws EntityNotFoundException;
+    List<StudentReadOnlyDTO> getStudentsByLastname(String lastname) throws EntityNotFoundException;
+    KeysetPageDTO<StudentReadOnlyDTO> getStudentsByLastname(String lastname, String cursor, int size)
+            throws EntityNotFoundException;
+    StudentReadOnlyDTO getStudentById(Long id) throws EntityNotFoundException;
+    String getStudentEtag(Long id) throws EntityNotFoundException;
+    MultiGetDTO<StudentReadOnlyDTO> getStudentsByIds(Collection<Long> ids);
+    List<LastnameMatchDTO> getLastnameSuggestions(String prefix, int limit);
 }
@@ -1,14 +1,21 @@
 package gr.aueb.cf.springschoolapp.service;
 
 
+import gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.MultiGetDTO;
 import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherUpdateDTO;
 import gr.aueb.cf.springschoolapp.model.Teacher;
 import gr.aueb.cf.springschoolapp.service.exception.EntityAlreadyExistsException;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
+import gr.aueb.cf.springschoolapp.service.exception.EntityVersionConflictException;
 import gr.aueb.cf.springschoolapp.service.exception.SQLGenericException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * This interface declares the Public API
@@ -19,8 +26,16 @@ import java.util.List;
  */
 public interface ITeacherService {
     Teacher insertTeacher(TeacherInsertDTO dto) throws EntityAlreadyExistsException, SQLGenericException;
-    Teacher updateTeacher(TeacherUpdateDTO dto) throws EntityNotFoundException;
+    Teacher updateTeacher(TeacherUpdateDTO dto, String ifMatch)
+            throws EntityNotFoundException, EntityVersionConflictException;
+    Teacher patchTeacher(Long id, Map<String, Object> patch, String ifMatch)
+            throws EntityNotFoundException, EntityAlreadyExistsException, EntityVersionConflictException;
     Teacher deleteTeacher(Long id) throws EntityNotFoundException;
-    List<Teacher> getTeachersByLastname(String lastname) throws EntityNotFoundException;
-    Teacher getTeacherById(Long id) throws EntityNotFoundException;
+    int deleteTeachers(Collection<Long> ids) throws EntityNotFoundException;
+    List<TeacherReadOnlyDTO> getTeachersByLastname(String lastname) throws EntityNotFoundException;
+    TeacherReadOnlyDTO getTeacherById(Long id) throws EntityNotFoundException;
+    String getTeacherEtag(Long id) throws EntityNotFoundException;
+    MultiGetDTO<TeacherReadOnlyDTO> getTeachersByIds(Collection<Long> ids);
+    void forEachTeacher(Consumer<TeacherReadOnlyDTO> action);
+    List<LastnameMatchDTO> getLastnameSuggestions(String prefix, int limit);
 }
@@ -1,6 +1,8 @@
 package gr.aueb.cf.springschoolapp.service;
 
 
+import gr.aueb.cf.springschoolapp.dto.pagedto.MultiGetDTO;
+import gr.aueb.cf.springschoolapp.dto.userdto.UserReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.userdto.UserRegisterDTO;
 import gr.aueb.cf.springschoolapp.dto.userdto.UserUpdateDTO;
 import gr.aueb.cf.springschoolapp.model.User;
@@ -8,6 +10,7 @@ import gr.aueb.cf.springschoolapp.service.exception.EntityAlreadyExistsException
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
 import gr.aueb.cf.springschoolapp.service.exception.SQLGenericException;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -21,7 +24,9 @@ public interface IUserService {
     User insertUser(UserRegisterDTO dto) throws EntityAlreadyExistsException, SQLGenericException;
     User updateUser(UserUpdateDTO dto) throws EntityNotFoundException;
     User deleteUser(Long id) throws EntityNotFoundException;
+    int deleteUsers(Collection<Long> ids) throws EntityNotFoundException;
     List<User> getUsersByUsernameLike(String username) throws EntityNotFoundException;
     User getUserByName(String username) throws EntityNotFoundException;
     User getUserById(Long id) throws EntityNotFoundException;
+    MultiGetDTO<UserReadOnlyDTO> getUsersByIds(Collection<Long> ids);
 }
@@ -0,0 +1,14 @@
+package gr.aueb.cf.springschoolapp.service;
+
+/**
+ * This interface declares the Public API for checking
+ * whether a username is free for a new
+ * {@link gr.aueb.cf.springschoolapp.model.User}.
+ *
+ * @author Thanasis Chousiadas
+ */
+public interface IUsernameAvailabilityService {
+    boolean isAvailable(String username);
+    void usernameAdded(String username);
+    void usernameRemoved(String username);
+}
@@ -0,0 +1,288 @@
+package gr.aueb.cf.springschoolapp.service;
+
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingSlotDTO;
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingUpdateDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.KeysetPageDTO;
+import gr.aueb.cf.springschoolapp.model.Meeting;
+import gr.aueb.cf.springschoolapp.model.Student;
+import gr.aueb.cf.springschoolapp.model.Teacher;
+import gr.aueb.cf.springschoolapp.repository.IMeetingRepository;
+import gr.aueb.cf.springschoolapp.repository.IStudentRepository;
+import gr.aueb.cf.springschoolapp.repository.ITeacherRepository;
+import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
+import gr.aueb.cf.springschoolapp.service.exception.MeetingConflictException;
+import gr.aueb.cf.springschoolapp.service.scheduling.MeetingSchedule;
+import gr.aueb.cf.springschoolapp.service.util.DateUtil;
+import gr.aueb.cf.springschoolapp.service.util.KeysetCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * This interface implements the Public API
+ * of the {@link IMeetingService} interface, for
+ * the Service Layer of this application.
+ * It implements services for CRUD operations in
+ * {@link Meeting} objects. Double-bookings of teachers
+ * and meeting rooms are rejected by the {@link MeetingSchedule}.
+ *
+ * @author Thanasis Chousiadas
+ */
+@Service
+@Slf4j
+public class MeetingServiceImpl implements IMeetingService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final IMeetingRepository meetingRepository;
+    private final ITeacherRepository teacherRepository;
+    private final IStudentRepository studentRepository;
+    private final MeetingSchedule meetingSchedule;
+
+    @Autowired
+    public MeetingServiceImpl(
+            IMeetingRepository meetingRepository,
+            ITeacherRepository teacherRepository,
+            IStudentRepository studentRepository,
+            MeetingSchedule meetingSchedule) {
+        this.meetingRepository = meetingRepository;
+        this.teacherRepository = teacherRepository;
+        this.studentRepository = studentRepository;
+        this.meetingSchedule = meetingSchedule;
+    }
+
+    /**
+     * This method inserts a new meeting in the database.
+     *
+     * @param dto the Data Transfer Object with the data for insert the record.
+     * @return the inserted {@link Meeting} entity.
+     * @throws EntityNotFoundException  if the teacher or the student of the meeting
+     *                                  does not exist.
+     * @throws MeetingConflictException if the teacher or the meeting room is already
+     *                                  booked at that time.
+     * @throws ParseException           this exception in occurred while parsing the
+     *                                  date-time string of the meeting.
+     */
+    @Transactional(rollbackOn = MeetingConflictException.class)
+    @Override
+    public Meeting insertMeeting(MeetingInsertDTO dto)
+            throws EntityNotFoundException, MeetingConflictException, ParseException {
+        Meeting meeting = new Meeting();
+        try {
+            apply(meeting, dto.getTeacherId(), dto.getStudentId(), dto.getMeetingRoom(), dto.getMeetingDate());
+            // the pooled sequence assigns the id on save, before any INSERT is flushed
+            meeting = meetingRepository.save(meeting);
+            meetingSchedule.reserve(meeting.getId(), dto.getTeacherId(),
+                    meeting.getMeetingRoom(), meeting.getMeetingDatetime());
+        } catch (EntityNotFoundException | MeetingConflictException | ParseException e) {
+            log.info("Error inserting meeting: \n" + e.getMessage());
+            throw e;
+        }
+        return meeting;
+    }
+
+    /**
+     * This method updates an old meeting record with a new one.
+     *
+     * @param dto the Data Transfer Object with the data for update the record.
+     * @return the updated {@link Meeting} object.
+     * @throws EntityNotFoundException  if the meeting, its teacher or its student
+     *                                  does not exist.
+     * @throws MeetingConflictException if the teacher or the meeting room is already
+     *                                  booked at that time.
+     * @throws ParseException           this exception in occurred while parsing the
+     *                                  date-time string of the meeting.
+     */
+    @Transactional(rollbackOn = MeetingConflictException.class)
+    @Override
+    public Meeting updateMeeting(MeetingUpdateDTO dto)
+            throws EntityNotFoundException, MeetingConflictException, ParseException {
+        Meeting meeting;
+        try {
+            meeting = meetingRepository.findById(dto.getId()).orElse(null);
+            if (meeting == null) {
+                throw new EntityNotFoundException(Meeting.class, dto.getId());
+            }
+            apply(meeting, dto.getTeacherId(), dto.getStudentId(), dto.getMeetingRoom(), dto.getMeetingDate());
+            meetingSchedule.reserve(meeting.getId(), dto.getTeacherId(),
+                    meeting.getMeetingRoom(), meeting.getMeetingDatetime());
+        } catch (EntityNotFoundException | MeetingConflictException | ParseException e) {
+            log.info("Error updating meeting: \n" + e.getMessage());
+            throw e;
+        }
+        return meeting;
+    }
+
+    /**
+     * This method deletes a meeting with an id given
+     * by the user and frees its slot.
+     *
+     * @param id the id given by the user.
+     * @return the deleted {@link Meeting} entity.
+     * @throws EntityNotFoundException an error is occurred where the entity is not
+     *                                 found for database operations, such as
+     *                                 update, delete and retrieve.
+     */
+    @Transactional
+    @Override
+    public Meeting deleteMeeting(Long id) throws EntityNotFoundException {
+        Meeting meeting;
+        try {
+            meeting = meetingRepository.findById(id).orElse(null);
+            if (meeting == null) {
+                throw new EntityNotFoundException(Meeting.class, id);
+            }
+            // the students own the join table, so their side is cleared first
+            for (Student student : new ArrayList<>(meeting.getAllStudents())) {
+                meeting.deleteStudent(student);
+            }
+            meetingRepository.delete(meeting);
+            meetingSchedule.release(id);
+        } catch (EntityNotFoundException e) {
+            log.info("Error deleting meeting");
+            throw e;
+        }
+        return meeting;
+    }
+
+    /**
+     * Retrieves a {@link Meeting} object given the id of the
+     * meeting.
+     *
+     * @param id the id given by the user.
+     * @return a {@link Meeting} object
+     * @throws EntityNotFoundException an error is occurred where the entity is not
+     *                                 found for database operations, such as
+     *                                 update, delete and retrieve.
+     */
+    @Override
+    public Meeting getMeetingById(Long id) throws EntityNotFoundException {
+        Meeting meeting;
+        try {
+            meeting = meetingRepository.findById(id).orElse(null);
+            if (meeting == null) {
+                throw new EntityNotFoundException(Meeting.class, id);
+            }
+        } catch (EntityNotFoundException e) {
+            log.info("Error getting meeting with id: \n" + e.getMessage());
+            throw e;
+        }
+        return meeting;
+    }
+
+    /**
+     * This method returns a page of the meetings of a teacher in the
+     * time range {@code [from, to)}, ordered by date-time and id.
+     * Pages are read with keyset pagination over the
+     * (TEACHER_ID, MEETING_DATETIME) index.
+     *
+     * @param teacherId the id of the teacher.
+     * @param from      the inclusive start of the range.
+     * @param to        the exclusive end of the range.
+     * @param cursor    the continuation token of the previous page, or null
+     *                  for the first page.
+     * @param size      the requested page size, capped to {@value #MAX_PAGE_SIZE}.
+     * @return a {@link KeysetPageDTO} with {@link MeetingSlotDTO} objects.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Override
+    public KeysetPageDTO<MeetingSlotDTO> getMeetingsByTeacher(
+            Long teacherId, Date from, Date to, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        KeysetCursor after = startOf(from, cursor);
+        List<MeetingSlotDTO> meetings = meetingRepository.findTeacherSlotsAfter(teacherId,
+                new Date(Long.parseLong(after.getKey())), after.getId(), to, PageRequest.of(0, pageSize + 1));
+        return pageOf(meetings, pageSize);
+    }
+
+    /**
+     * This method returns a page of the bookings of a meeting room
+     * in the time range {@code [from, to)}, ordered by date-time and id.
+     * Pages are read with keyset pagination over the
+     * (MEETING_ROOM, MEETING_DATETIME) index.
+     *
+     * @param meetingRoom the meeting room.
+     * @param from        the inclusive start of the range.
+     * @param to          the exclusive end of the range.
+     * @param cursor      the continuation token of the previous page, or null
+     *                    for the first page.
+     * @param size        the requested page size, capped to {@value #MAX_PAGE_SIZE}.
+     * @return a {@link KeysetPageDTO} with {@link MeetingSlotDTO} objects.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Override
+    public KeysetPageDTO<MeetingSlotDTO> getMeetingsByRoom(
+            String meetingRoom, Date from, Date to, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        KeysetCursor after = startOf(from, cursor);
+        List<MeetingSlotDTO> meetings = meetingRepository.findRoomSlotsAfter(meetingRoom,
+                new Date(Long.parseLong(after.getKey())), after.getId(), to, PageRequest.of(0, pageSize + 1));
+        return pageOf(meetings, pageSize);
+    }
+
+    /**
+     * Returns the position to read a range from. The first page starts
+     * at {@code from} with an id below every real id.
+     */
+    private static KeysetCursor startOf(Date from, String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new KeysetCursor(String.valueOf(from.getTime()), -1L);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        try {
+            if (Long.parseLong(after.getKey()) < from.getTime()) {
+                throw new IllegalArgumentException("Cursor is before the start of the range");
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        return after;
+    }
+
+    /**
+     * Trims the extra row fetched to detect a next page and
+     * builds the continuation token from the last row.
+     */
+    private static KeysetPageDTO<MeetingSlotDTO> pageOf(List<MeetingSlotDTO> meetings, int pageSize) {
+        String next = null;
+        if (meetings.size() > pageSize) {
+            meetings = meetings.subList(0, pageSize);
+            MeetingSlotDTO last = meetings.get(pageSize - 1);
+            next = new KeysetCursor(String.valueOf(last.getMeetingDatetime().getTime()), last.getId()).encode();
+        }
+        return new KeysetPageDTO<>(meetings, next);
+    }
+
+    /**
+     * Copies the fields of an insert or update DTO to a
+     * {@link Meeting} entity.
+     */
+    private void apply(Meeting meeting, Long teacherId, Long studentId, String meetingRoom, String meetingDate)
+            throws EntityNotFoundException, ParseException {
+        Teacher teacher = null;
+        if (teacherId != null) {
+            teacher = teacherRepository.findById(teacherId).orElse(null);
+            if (teacher == null) {
+                throw new EntityNotFoundException(Teacher.class, teacherId);
+            }
+        }
+        if (studentId != null) {
+            Student student = studentRepository.findById(studentId).orElse(null);
+            if (student == null) {
+                throw new EntityNotFoundException(Student.class, studentId);
+            }
+            meeting.addStudent(student);
+        }
+        meeting.setTeacher(teacher);
+        meeting.setMeetingRoom(meetingRoom);
+        meeting.setMeetingDatetime(DateUtil.toDateTime(meetingDate));
+    }
+}
@@ -0,0 +1,154 @@
+package gr.aueb.cf.springschoolapp.service;
+
+import gr.aueb.cf.springschoolapp.dto.citydto.CityReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.model.City;
+import gr.aueb.cf.springschoolapp.model.Speciality;
+import gr.aueb.cf.springschoolapp.repository.ICityRepository;
+import gr.aueb.cf.springschoolapp.repository.ISpecialityRepository;
+import gr.aueb.cf.springschoolapp.service.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resolves the names of cities and specialities to their ids
+ * from immutable in-memory maps, so that student and teacher
+ * writes do not query the reference tables. The maps are
+ * replaced atomically after every committed change made
+ * through {@link CityServiceImpl} and {@link SpecialityServiceImpl}.
+ * <p>
+ * Names are matched case-insensitively, like the MySQL
+ * collation of the CITY and SPECIALITY columns.
+ *
+ * @author Thanasis Chousiadas
+ */
+@Component
+@Slf4j
+public class ReferenceDataResolver {
+
+    private final ICityRepository cityRepository;
+    private final ISpecialityRepository specialityRepository;
+    private final AtomicReference<Map<String, Long>> cities = new AtomicReference<>(Map.of());
+    private final AtomicReference<Map<String, Long>> specialities = new AtomicReference<>(Map.of());
+
+    @Autowired
+    public ReferenceDataResolver(ICityRepository cityRepository, ISpecialityRepository specialityRepository) {
+        this.cityRepository = cityRepository;
+        this.specialityRepository = specialityRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        loadCities();
+        loadSpecialities();
+    }
+
+    /**
+     * Returns the id of a city given its name. A name that is not
+     * in the map is looked up once in the database, in case the city
+     * was inserted by another node, and the map is reloaded if found.
+     *
+     * @param cityName the name of the city.
+     * @return the id of the city, or null if it does not exist.
+     */
+    public Long cityId(String cityName) {
+        if (cityName == null) {
+            return null;
+        }
+        Long id = cities.get().get(normalize(cityName));
+        if (id == null && cityRepository.getCityByCityName(cityName) != null) {
+            loadCities();
+            id = cities.get().get(normalize(cityName));
+        }
+        return id;
+    }
+
+    /**
+     * Returns a reference to a city given its name. The reference
+     * is an uninitialized proxy, so no SELECT is issued.
+     *
+     * @param cityName the name of the city.
+     * @return a {@link City} reference, or null if the city does not exist.
+     */
+    public City cityReference(String cityName) {
+        Long id = cityId(cityName);
+        return id == null ? null : cityRepository.getReferenceById(id);
+    }
+
+    /**
+     * Returns the id of a speciality given its name. A name that is
+     * not in the map is looked up once in the database, in case the
+     * speciality was inserted by another node.
+     *
+     * @param specialityName the name of the speciality.
+     * @return the id of the speciality, or null if it does not exist.
+     */
+    public Long specialityId(String specialityName) {
+        if (specialityName == null) {
+            return null;
+        }
+        Long id = specialities.get().get(normalize(specialityName));
+        if (id == null && specialityRepository.getSpecialityBySpecialityName(specialityName) != null) {
+            loadSpecialities();
+            id = specialities.get().get(normalize(specialityName));
+        }
+        return id;
+    }
+
+    /**
+     * Returns a reference to a speciality given its name. The
+     * reference is an uninitialized proxy, so no SELECT is issued.
+     *
+     * @param specialityName the name of the speciality.
+     * @return a {@link Speciality} reference, or null if it does not exist.
+     */
+    public Speciality specialityReference(String specialityName) {
+        Long id = specialityId(specialityName);
+        return id == null ? null : specialityRepository.getReferenceById(id);
+    }
+
+    /**
+     * Reloads the cities' map once the current transaction
+     * commits, or immediately if there is no transaction.
+     */
+    public void refreshCities() {
+        TransactionCallbacks.afterCommit(this::loadCities);
+    }
+
+    /**
+     * Reloads the specialities' map once the current transaction
+     * commits, or immediately if there is no transaction.
+     */
+    public void refreshSpecialities() {
+        TransactionCallbacks.afterCommit(this::loadSpecialities);
+    }
+
+    private void loadCities() {
+        Map<String, Long> map = new HashMap<>();
+        for (CityReadOnlyDTO city : cityRepository.findAllReadOnly()) {
+            map.put(normalize(city.getCityName()), city.getId());
+        }
+        cities.set(Map.copyOf(map));
+        log.info("Loaded " + map.size() + " cities in the reference data resolver");
+    }
+
+    private void loadSpecialities() {
+        Map<String, Long> map = new HashMap<>();
+        for (SpecialityReadOnlyDTO speciality : specialityRepository.findAllReadOnly()) {
+            map.put(normalize(speciality.getName()), speciality.getId());
+        }
+        specialities.set(Map.copyOf(map));
+        log.info("Loaded " + map.size() + " specialities in the reference data resolver");
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,140 @@
+package gr.aueb.cf.springschoolapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import gr.aueb.cf.springschoolapp.dto.citydto.CityReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.repository.ICityRepository;
+import gr.aueb.cf.springschoolapp.repository.ISpecialityRepository;
+import gr.aueb.cf.springschoolapp.service.util.JsonSnapshot;
+import gr.aueb.cf.springschoolapp.service.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the lists of all cities and all specialities as
+ * pre-serialized (and pre-gzipped) {@link JsonSnapshot}s, so
+ * that they are not queried and serialized on every request.
+ * <p>
+ * A snapshot is built on first use and dropped after every
+ * committed change made through {@link CityServiceImpl} and
+ * {@link SpecialityServiceImpl}. It also expires after
+ * {@code app.reference-data.snapshot-ttl}, which bounds how long
+ * a change made through another node can go unnoticed.
+ *
+ * @author Thanasis Chousiadas
+ */
+@Component
+@Slf4j
+public class ReferenceDataSnapshots {
+
+    private final Duration ttl;
+    private final Slot cities;
+    private final Slot specialities;
+
+    @Autowired
+    public ReferenceDataSnapshots(
+            ICityRepository cityRepository,
+            ISpecialityRepository specialityRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.reference-data.snapshot-ttl:PT5M}") Duration ttl) {
+        this.ttl = ttl;
+        this.cities = new Slot("cities", cityRepository::findAllReadOnly,
+                objectMapper.writerFor(new TypeReference<List<CityReadOnlyDTO>>() { }));
+        this.specialities = new Slot("specialities", specialityRepository::findAllReadOnly,
+                objectMapper.writerFor(new TypeReference<List<SpecialityReadOnlyDTO>>() { }));
+    }
+
+    /**
+     * Returns the snapshot of all the cities, ordered by name.
+     *
+     * @return a {@link JsonSnapshot} of a list of {@link CityReadOnlyDTO}.
+     */
+    public JsonSnapshot cities() {
+        return cities.get();
+    }
+
+    /**
+     * Returns the snapshot of all the specialities, ordered by name.
+     *
+     * @return a {@link JsonSnapshot} of a list of {@link SpecialityReadOnlyDTO}.
+     */
+    public JsonSnapshot specialities() {
+        return specialities.get();
+    }
+
+    /**
+     * Drops the cities' snapshot once the current transaction
+     * commits, or immediately if there is no transaction.
+     */
+    public void invalidateCities() {
+        TransactionCallbacks.afterCommit(cities::invalidate);
+    }
+
+    /**
+     * Drops the specialities' snapshot once the current transaction
+     * commits, or immediately if there is no transaction.
+     */
+    public void invalidateSpecialities() {
+        TransactionCallbacks.afterCommit(specialities::invalidate);
+    }
+
+    /**
+     * Holder of one snapshot. A snapshot that was being built while
+     * an invalidation happened is returned to its caller but not
+     * kept, since it may have been read before the change committed.
+     */
+    private final class Slot {
+        private final String name;
+        private final Supplier<List<?>> loader;
+        private final ObjectWriter writer;
+        private volatile JsonSnapshot snapshot;
+        private long generation;
+
+        private Slot(String name, Supplier<List<?>> loader, ObjectWriter writer) {
+            this.name = name;
+            this.loader = loader;
+            this.writer = writer;
+        }
+
+        private JsonSnapshot get() {
+            JsonSnapshot current = snapshot;
+            if (current != null && !current.isOlderThan(ttl)) {
+                return current;
+            }
+
+            long loadedGeneration;
+            synchronized (this) {
+                loadedGeneration = generation;
+            }
+            List<?> rows = loader.get();
+            JsonSnapshot fresh;
+            try {
+                fresh = JsonSnapshot.of(writer.writeValueAsBytes(rows), rows.size());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+            synchronized (this) {
+                if (generation == loadedGeneration) {
+                    snapshot = fresh;
+                }
+            }
+            log.info("Built the " + name + " snapshot with " + rows.size() + " rows, ETag " + fresh.getEtag());
+            return fresh;
+        }
+
+        private synchronized void invalidate() {
+            generation++;
+            snapshot = null;
+        }
+    }
+}
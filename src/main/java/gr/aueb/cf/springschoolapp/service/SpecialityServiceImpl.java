@@ -2,14 +2,19 @@ package gr.aueb.cf.springschoolapp.service;
 
 
 import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.specialitydto.SpecialityUpdateDTO;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.model.Speciality;
 import gr.aueb.cf.springschoolapp.repository.ISpecialityRepository;
 import gr.aueb.cf.springschoolapp.service.exception.EntityAlreadyExistsException;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
 import gr.aueb.cf.springschoolapp.service.exception.SQLGenericException;
+import gr.aueb.cf.springschoolapp.service.util.JsonSnapshot;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -27,11 +32,20 @@ import java.util.List;
 @Slf4j
 public class SpecialityServiceImpl implements ISpecialityService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ISpecialityRepository specialityRepository;
+    private final ReferenceDataResolver referenceDataResolver;
+    private final ReferenceDataSnapshots referenceDataSnapshots;
 
     @Autowired
-    public SpecialityServiceImpl(ISpecialityRepository specialityRepository) {
+    public SpecialityServiceImpl(
+            ISpecialityRepository specialityRepository,
+            ReferenceDataResolver referenceDataResolver,
+            ReferenceDataSnapshots referenceDataSnapshots) {
         this.specialityRepository = specialityRepository;
+        this.referenceDataResolver = referenceDataResolver;
+        this.referenceDataSnapshots = referenceDataSnapshots;
     }
 
     /**
@@ -60,6 +74,8 @@ public class SpecialityServiceImpl implements ISpecialityService {
             if (speciality.getId() == null) {
                 throw new SQLGenericException(Speciality.class, "Inserting speciality");
             }
+            referenceDataResolver.refreshSpecialities();
+            referenceDataSnapshots.invalidateSpecialities();
 
         } catch (EntityAlreadyExistsException | SQLGenericException e) {
             log.info("[Error]: Inserting speciality with name " + dto.getSpecialityName());
@@ -90,6 +106,8 @@ public class SpecialityServiceImpl implements ISpecialityService {
             }
 
             updatedSpeciality = specialityRepository.save(convertUpdateDTO(dto));
+            referenceDataResolver.refreshSpecialities();
+            referenceDataSnapshots.invalidateSpecialities();
         } catch (EntityNotFoundException e) {
             log.info("Update Exception Error");
             throw e;
@@ -118,6 +136,8 @@ public class SpecialityServiceImpl implements ISpecialityService {
                 throw new EntityNotFoundException(Speciality.class, id);
             }
             specialityRepository.deleteById(id);
+            referenceDataResolver.refreshSpecialities();
+            referenceDataSnapshots.invalidateSpecialities();
         } catch (EntityNotFoundException e) {
             log.info("[Error]: Deleting Speciality with id = " + id);
             throw e;
@@ -197,6 +217,79 @@ public class SpecialityServiceImpl implements ISpecialityService {
         return specialities;
     }
 
+    /**
+     * Returns the id and the name of all the specialities,
+     * without loading the {@link Speciality} entities and
+     * their teachers.
+     *
+     * @return a list with {@link SpecialityReadOnlyDTO} objects.
+     * @throws EntityNotFoundException if there are no specialities in the database.
+     */
+    @Override
+    public List<SpecialityReadOnlyDTO> getAllSpecialitiesReadOnly() throws EntityNotFoundException {
+        List<SpecialityReadOnlyDTO> specialities;
+        try {
+            specialities = specialityRepository.findAllReadOnly();
+            if (specialities.size() == 0) {
+                throw new EntityNotFoundException(Speciality.class, 0L);
+            }
+        } catch (EntityNotFoundException e) {
+            log.info("[Error]: Retrieving all Specialities from the database");
+            throw e;
+        }
+        return specialities;
+    }
+
+    /**
+     * This method returns all the specialities as a pre-serialized
+     * JSON list of {@link SpecialityReadOnlyDTO}, which is rebuilt
+     * only after a change of the specialities.
+     *
+     * @return a {@link JsonSnapshot} of the specialities.
+     * @throws EntityNotFoundException if there are no specialities in the database.
+     */
+    @Override
+    public JsonSnapshot getAllSpecialitiesSnapshot() throws EntityNotFoundException {
+        JsonSnapshot snapshot;
+        try {
+            snapshot = referenceDataSnapshots.specialities();
+            if (snapshot.getSize() == 0) {
+                throw new EntityNotFoundException(Speciality.class, 0L);
+            }
+        } catch (EntityNotFoundException e) {
+            log.info("[Error]: Retrieving all Specialities from the database");
+            throw e;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns a page of the teachers of a speciality, ordered by
+     * their lastname. The page size is capped to {@value MAX_PAGE_SIZE}.
+     *
+     * @param id   the id of the speciality.
+     * @param page the zero-based page number.
+     * @param size the number of teachers per page.
+     * @return a {@link Page} with {@link TeacherReadOnlyDTO} objects.
+     * @throws EntityNotFoundException if the speciality does not exist.
+     */
+    @Override
+    public Page<TeacherReadOnlyDTO> getTeachersBySpeciality(Long id, int page, int size)
+            throws EntityNotFoundException {
+        Page<TeacherReadOnlyDTO> teachers;
+        try {
+            if (!specialityRepository.existsById(id)) {
+                throw new EntityNotFoundException(Speciality.class, id);
+            }
+            PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+            teachers = specialityRepository.findTeachersBySpecialityId(id, pageRequest);
+        } catch (EntityNotFoundException e) {
+            log.info("[Error]: Retrieving teachers of speciality with id = " + id);
+            throw e;
+        }
+        return teachers;
+    }
+
     private Speciality convertInsertDTO(SpecialityInsertDTO dto) {
         Speciality speciality = new Speciality();
         speciality.setId(null);
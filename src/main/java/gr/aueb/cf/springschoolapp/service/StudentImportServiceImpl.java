@@ -0,0 +1,296 @@
+package gr.aueb.cf.springschoolapp.service;
+
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentImportErrorDTO;
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentImportReportDTO;
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.userdto.UserReadOnlyDTO;
+import gr.aueb.cf.springschoolapp.model.Gender;
+import gr.aueb.cf.springschoolapp.model.Student;
+import gr.aueb.cf.springschoolapp.repository.ICityRepository;
+import gr.aueb.cf.springschoolapp.repository.IStudentRepository;
+import gr.aueb.cf.springschoolapp.repository.IUserRepository;
+import gr.aueb.cf.springschoolapp.service.util.DateUtil;
+import gr.aueb.cf.springschoolapp.validator.StudentInsertValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This class implements the Public API of the
+ * {@link IStudentImportService} interface. It imports
+ * students from a CSV file with the columns
+ * {@code firstname,lastname,gender,birthdate,city,username}.
+ * <p>
+ * The file is read in chunks. The rows of a chunk are parsed and
+ * validated in parallel, cities are resolved by the {@link ReferenceDataResolver}
+ * and usernames by one query per chunk instead of a query per row, and each chunk is
+ * inserted in its own transaction with JDBC batching.
+ *
+ * @author Thanasis Chousiadas
+ */
+@Service
+@Slf4j
+public class StudentImportServiceImpl implements IStudentImportService {
+
+    private static final int COLUMNS = 6;
+    private static final String HEADER = "firstname";
+
+    private final ICityRepository cityRepository;
+    private final ReferenceDataResolver referenceDataResolver;
+    private final IUserRepository userRepository;
+    private final IStudentRepository studentRepository;
+    private final StudentInsertValidator studentInsertValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    @Autowired
+    public StudentImportServiceImpl(
+            ICityRepository cityRepository,
+            ReferenceDataResolver referenceDataResolver,
+            IUserRepository userRepository,
+            IStudentRepository studentRepository,
+            StudentInsertValidator studentInsertValidator,
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager,
+            @Value("${app.students.import.chunk-size:1000}") int chunkSize) {
+        this.cityRepository = cityRepository;
+        this.referenceDataResolver = referenceDataResolver;
+        this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.studentInsertValidator = studentInsertValidator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports the students of a CSV file. A header line is
+     * skipped if present. Rows that cannot be inserted are
+     * reported with their line number and do not stop the import.
+     *
+     * @param csv the content of the CSV file.
+     * @return a {@link StudentImportReportDTO} with the outcome.
+     * @throws IOException if the file cannot be read.
+     */
+    @Override
+    public StudentImportReportDTO importStudents(InputStream csv) throws IOException {
+        StudentImportReportDTO report = new StudentImportReportDTO();
+        Set<String> importedUsernames = new HashSet<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            List<CsvLine> chunk = new ArrayList<>(chunkSize);
+            long number = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank() || (number == 1 && normalize(line).startsWith(HEADER))) {
+                    continue;
+                }
+                chunk.add(new CsvLine(number, line));
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, importedUsernames, report);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, importedUsernames, report);
+            }
+        }
+        log.info("Students import finished: " + report);
+        return report;
+    }
+
+    /**
+     * Parses, resolves and inserts a chunk of CSV lines.
+     */
+    private void importChunk(List<CsvLine> chunk, Set<String> importedUsernames, StudentImportReportDTO report) {
+        List<ParsedRow> rows = chunk.parallelStream()
+                .map(this::parse)
+                .collect(Collectors.toList());
+        report.setRows(report.getRows() + rows.size());
+
+        // one query resolves all the usernames of the chunk
+        Set<String> usernames = rows.stream()
+                .filter(row -> row.error == null)
+                .map(row -> row.username)
+                .collect(Collectors.toSet());
+        Map<String, Long> users = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            for (UserReadOnlyDTO user : userRepository.findReadOnlyByUsernameIn(usernames)) {
+                users.put(normalize(user.getUsername()), user.getId());
+            }
+        }
+        Set<Long> takenUserIds = users.isEmpty()
+                ? Collections.emptySet()
+                : new HashSet<>(studentRepository.findUserIdsIn(users.values()));
+
+        List<ParsedRow> accepted = new ArrayList<>(rows.size());
+        for (ParsedRow row : rows) {
+            if (row.error != null) {
+                reject(report, row.line, row.error);
+                continue;
+            }
+            row.cityId = referenceDataResolver.cityId(row.dto.getCity());
+            row.userId = users.get(row.username);
+            if (row.cityId == null) {
+                reject(report, row.line, "City " + row.dto.getCity() + " does not exist");
+            } else if (row.userId == null) {
+                reject(report, row.line, "User " + row.dto.getUsername() + " does not exist");
+            } else if (takenUserIds.contains(row.userId) || !importedUsernames.add(row.username)) {
+                reject(report, row.line, "User " + row.dto.getUsername() + " already belongs to a student");
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Student> students = new ArrayList<>(accepted.size());
+                for (ParsedRow row : accepted) {
+                    students.add(convertParsedRow(row));
+                }
+                studentRepository.saveAll(students);
+                try {
+                    entityManager.flush();
+                } catch (PersistenceException e) {
+                    // the shared EntityManager does not translate exceptions, unlike the repositories
+                    throw EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+                }
+                entityManager.clear();
+            });
+            report.setInserted(report.getInserted() + accepted.size());
+        } catch (DataAccessException | TransactionException e) {
+            log.info("Error inserting students' chunk starting at line " + accepted.get(0).line);
+            String message = "Chunk rejected by the database: " + e.getMostSpecificCause().getMessage();
+            for (ParsedRow row : accepted) {
+                importedUsernames.remove(row.username);
+                reject(report, row.line, message);
+            }
+        }
+    }
+
+    /**
+     * Parses and validates a single CSV line. It is called
+     * in parallel, so it must not touch shared state.
+     */
+    private ParsedRow parse(CsvLine line) {
+        String[] columns = line.text.split(",", -1);
+        if (columns.length != COLUMNS) {
+            return ParsedRow.rejected(line.number, "Expected " + COLUMNS + " columns but found " + columns.length);
+        }
+        LocalDate birthdate;
+        try {
+            birthdate = DateUtil.toLocalDate(columns[3].trim());
+        } catch (DateTimeParseException e) {
+            return ParsedRow.rejected(line.number, "Birthdate must be in dd-MM-yyyy format");
+        }
+        StudentInsertDTO dto = new StudentInsertDTO(
+                columns[0].trim(), columns[1].trim(), columns[2].trim(),
+                birthdate, columns[4].trim(), columns[5].trim());
+
+        Errors errors = new BeanPropertyBindingResult(dto, "student");
+        studentInsertValidator.validate(dto, errors);
+        if (errors.hasErrors()) {
+            return ParsedRow.rejected(line.number, "Invalid " + errors.getFieldErrors().stream()
+                    .map(FieldError::getField)
+                    .distinct()
+                    .collect(Collectors.joining(", ")));
+        }
+        if (!dto.getGender().equals("M") && !dto.getGender().equals("F")) {
+            return ParsedRow.rejected(line.number, "Gender must be M or F");
+        }
+        return new ParsedRow(line.number, dto, null);
+    }
+
+    /**
+     * Maps a resolved row to a {@link Student}. City and user are
+     * set as references, so no SELECT is issued for them.
+     */
+    private Student convertParsedRow(ParsedRow row) {
+        Student student = new Student();
+        student.setFirstname(row.dto.getFirstname());
+        student.setLastname(row.dto.getLastname());
+        student.setGender(row.dto.getGender().equals("M") ? Gender.M : Gender.F);
+        student.setBirthDate(row.dto.getBirthdate());
+        student.setCity(cityRepository.getReferenceById(row.cityId));
+        student.setUser(userRepository.getReferenceById(row.userId));
+        return student;
+    }
+
+    private static void reject(StudentImportReportDTO report, long line, String message) {
+        report.getErrors().add(new StudentImportErrorDTO(line, message));
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A raw line of the CSV file with its line number.
+     */
+    private static final class CsvLine {
+        private final long number;
+        private final String text;
+
+        private CsvLine(long number, String text) {
+            this.number = number;
+            this.text = text;
+        }
+    }
+
+    /**
+     * A parsed line of the CSV file. It holds either the
+     * parsed values or the reason it was rejected.
+     */
+    private static final class ParsedRow {
+        private final long line;
+        private final StudentInsertDTO dto;
+        private final String username;
+        private final String error;
+        private Long cityId;
+        private Long userId;
+
+        private ParsedRow(long line, StudentInsertDTO dto, String error) {
+            this.line = line;
+            this.dto = dto;
+            this.username = dto == null ? null : normalize(dto.getUsername());
+            this.error = error;
+        }
+
+        private static ParsedRow rejected(long line, String error) {
+            return new ParsedRow(line, null, error);
+        }
+    }
+}
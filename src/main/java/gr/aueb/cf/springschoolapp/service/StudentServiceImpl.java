@@ -1,25 +1,45 @@
 package gr.aueb.cf.springschoolapp.service;
 
 
+import gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.KeysetPageDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.MultiGetDTO;
 import gr.aueb.cf.springschoolapp.dto.studentdto.StudentInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.studentdto.StudentUpdateDTO;
+import gr.aueb.cf.springschoolapp.dto.userdto.UserLinkDTO;
+import gr.aueb.cf.springschoolapp.dto.versiondto.EntityVersionDTO;
 import gr.aueb.cf.springschoolapp.model.City;
 import gr.aueb.cf.springschoolapp.model.Gender;
 import gr.aueb.cf.springschoolapp.model.Student;
 import gr.aueb.cf.springschoolapp.model.User;
-import gr.aueb.cf.springschoolapp.repository.ICityRepository;
 import gr.aueb.cf.springschoolapp.repository.IStudentRepository;
 import gr.aueb.cf.springschoolapp.repository.IUserRepository;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
+import gr.aueb.cf.springschoolapp.service.exception.EntityVersionConflictException;
 import gr.aueb.cf.springschoolapp.service.exception.SQLGenericException;
+import gr.aueb.cf.springschoolapp.service.index.LastnameIndexRegistry;
+import gr.aueb.cf.springschoolapp.service.index.LastnamePrefixIndex;
 import gr.aueb.cf.springschoolapp.service.util.DateUtil;
+import gr.aueb.cf.springschoolapp.service.util.ETags;
+import gr.aueb.cf.springschoolapp.service.util.KeysetCursor;
+import gr.aueb.cf.springschoolapp.service.util.MergePatch;
+import gr.aueb.cf.springschoolapp.service.util.MultiGet;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
-import java.text.ParseException;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -35,18 +55,34 @@ import java.util.List;
 @Slf4j
 public class StudentServiceImpl implements IStudentService {
 
-    private final ICityRepository cityRepository;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_IDS = 100;
+    private static final Set<String> PATCHABLE_FIELDS =
+            Set.of("firstname", "lastname", "gender", "birthdate", "city");
+    private static final Set<String> REQUIRED_FIELDS =
+            Set.of("lastname", "gender", "birthdate", "city");
+
+    private final ReferenceDataResolver referenceDataResolver;
+    private final LastnameIndexRegistry lastnameIndexRegistry;
+    private final IUsernameAvailabilityService usernameAvailabilityService;
     private final IUserRepository userRepository;
     private final IStudentRepository studentRepository;
+    private final int maxPageSize;
 
     @Autowired
     public StudentServiceImpl(
-            ICityRepository cityRepository,
+            ReferenceDataResolver referenceDataResolver,
+            LastnameIndexRegistry lastnameIndexRegistry,
+            IUsernameAvailabilityService usernameAvailabilityService,
             IUserRepository userRepository,
-            IStudentRepository studentRepository) {
-        this.cityRepository = cityRepository;
+            IStudentRepository studentRepository,
+            @Value("${app.students.max-page-size:100}") int maxPageSize) {
+        this.referenceDataResolver = referenceDataResolver;
+        this.lastnameIndexRegistry = lastnameIndexRegistry;
+        this.usernameAvailabilityService = usernameAvailabilityService;
         this.userRepository = userRepository;
         this.studentRepository = studentRepository;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
@@ -56,20 +92,17 @@ public class StudentServiceImpl implements IStudentService {
      * @return the inserted {@link Student} entity.
      * @throws SQLGenericException general exception if an error is occurred during
      *                             database operations.
-     * @throws ParseException      this exception in occurred while parsing the date
-     *                             string to {@link java.util.Date} object for insertion
-     *                             in the database.
      */
     @Transactional
     @Override
-    public Student insertStudent(StudentInsertDTO dto) throws SQLGenericException, ParseException {
+    public Student insertStudent(StudentInsertDTO dto) throws SQLGenericException {
         Student student;
         try {
             student = studentRepository.save(convertInsertDTO(dto));
             if (student.getId() == null) {
                 throw new SQLGenericException(Student.class, "[SQL Error]: Inserting student");
             }
-        } catch (SQLGenericException | ParseException e) {
+        } catch (SQLGenericException e) {
             log.info("Error inserting student " + e.getMessage());
             throw e;
         }
@@ -78,32 +111,73 @@ public class StudentServiceImpl implements IStudentService {
 
     /**
      * This method updates an old student record with a new one.
+     * The data are copied to the managed student, so Hibernate
+     * checks and increments its version.
      *
-     * @param dto the Data Transfer Object with the data for update the record.
+     * @param dto     the Data Transfer Object with the data for update the record.
+     * @param ifMatch the If-Match header of the request, or null.
      * @return the updated {@link Student} object.
-     * @throws ParseException          this exception in occurred while parsing the date
-     *                                 string to {@link java.util.Date} object for insertion
-     *                                 in the database.
-     * @throws EntityNotFoundException an error is occurred where the entity is not
-     *                                 found for database operations, such as
-     *                                 update, delete and retrieve.
+     * @throws EntityNotFoundException        an error is occurred where the entity is not
+     *                                        found for database operations, such as
+     *                                        update, delete and retrieve.
+     * @throws EntityVersionConflictException if the student has been modified since
+     *                                        the version given in If-Match.
      */
     @Transactional
     @Override
-    public Student updateStudent(StudentUpdateDTO dto) throws ParseException, EntityNotFoundException {
+    public Student updateStudent(StudentUpdateDTO dto, String ifMatch)
+            throws EntityNotFoundException, EntityVersionConflictException {
         Student student;
-        Student updatedStudent;
         try {
-            student = studentRepository.getById(dto.getId());
+            student = studentRepository.findById(dto.getId()).orElse(null);
             if (student == null) {
                 throw new EntityNotFoundException(Student.class, dto.getId());
             }
-            updatedStudent = studentRepository.save(convertUpdateDTO(dto));
-        } catch (ParseException | EntityNotFoundException e) {
+            checkIfMatch(student, ifMatch);
+            applyUpdateDTO(student, dto);
+        } catch (EntityNotFoundException | EntityVersionConflictException e) {
             log.info("Error updating student: \n" + e.getMessage());
             throw e;
         }
-        return updatedStudent;
+        return student;
+    }
+
+    /**
+     * This method applies a JSON Merge Patch to a student. The
+     * student is loaded once and only the given fields are changed,
+     * so the UPDATE contains just the modified columns.
+     *
+     * @param id      the id of the student.
+     * @param patch   the merge patch document.
+     * @param ifMatch the If-Match header of the request, or null.
+     * @return the patched {@link Student} object.
+     * @throws EntityNotFoundException        an error is occurred where the entity is not
+     *                                        found for database operations, such as
+     *                                        update, delete and retrieve.
+     * @throws EntityVersionConflictException if the student has been modified since
+     *                                        the version given in If-Match.
+     * @throws IllegalArgumentException       if the patch has unknown fields, clears a
+     *                                        required field or has invalid values.
+     */
+    @Transactional
+    @Override
+    public Student patchStudent(Long id, Map<String, Object> patch, String ifMatch)
+            throws EntityNotFoundException, EntityVersionConflictException {
+        Student student;
+        try {
+            MergePatch.requireOnly(patch, PATCHABLE_FIELDS);
+            MergePatch.requireNonNull(patch, REQUIRED_FIELDS);
+            student = studentRepository.findById(id).orElse(null);
+            if (student == null) {
+                throw new EntityNotFoundException(Student.class, id);
+            }
+            checkIfMatch(student, ifMatch);
+            applyPatch(student, patch);
+        } catch (EntityNotFoundException | EntityVersionConflictException | IllegalArgumentException e) {
+            log.info("Error patching student: \n" + e.getMessage());
+            throw e;
+        }
+        return student;
     }
 
     /**
@@ -133,21 +207,70 @@ public class StudentServiceImpl implements IStudentService {
         return student;
     }
 
+    /**
+     * This method deletes the students with the given ids, all or
+     * none. Existence is checked with one query and the rows are
+     * removed with set-based statements, together with their meeting enrolments
+     * and their user accounts.
+     *
+     * @param ids the ids given by the user.
+     * @return the number of deleted students.
+     * @throws EntityNotFoundException if any of the students does not exist.
+     */
+    @Transactional
+    @Override
+    public int deleteStudents(Collection<Long> ids) throws EntityNotFoundException {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        try {
+            List<UserLinkDTO> links = studentRepository.findUserLinksByIdIn(distinctIds);
+            Set<Long> found = new HashSet<>();
+            List<Long> userIds = new ArrayList<>();
+            for (UserLinkDTO link : links) {
+                found.add(link.getOwnerId());
+                if (link.getUserId() != null) {
+                    userIds.add(link.getUserId());
+                }
+            }
+            for (Long id : distinctIds) {
+                if (!found.contains(id)) {
+                    throw new EntityNotFoundException(Student.class, id);
+                }
+            }
+
+            studentRepository.deleteMeetingLinksByStudentIdIn(distinctIds);
+            studentRepository.deleteAllByIdInBatch(distinctIds);
+            if (!userIds.isEmpty()) {
+                userRepository.deleteAllByIdInBatch(userIds);
+            }
+
+            lastnameIndexRegistry.studentsRemoved(distinctIds);
+            for (UserLinkDTO link : links) {
+                if (link.getUsername() != null) {
+                    usernameAvailabilityService.usernameRemoved(link.getUsername());
+                }
+            }
+        } catch (EntityNotFoundException e) {
+            log.info("Error deleting students: \n" + e.getMessage());
+            throw e;
+        }
+        return distinctIds.size();
+    }
+
     /**
      * This method returns the students where their lastname
      * begins with the parameter given by the user.
      *
      * @param lastname the parameter for searching the students' lastname.
-     * @return an {@link java.util.ArrayList} with {@link Student} objects.
+     * @return an {@link java.util.ArrayList} with {@link StudentReadOnlyDTO} projections.
      * @throws EntityNotFoundException an error is occurred where the entity is not
      *                                 found for database operations, such as
      *                                 update, delete and retrieve.
      */
     @Override
-    public List<Student> getStudentsByLastname(String lastname) throws EntityNotFoundException {
-        List<Student> students;
+    public List<StudentReadOnlyDTO> getStudentsByLastname(String lastname) throws EntityNotFoundException {
+        List<StudentReadOnlyDTO> students;
         try {
-            students = studentRepository.getStudentsByLastnameStartingWith(lastname);
+            students = studentRepository.findReadOnlyByLastnamePrefix(lastname);
             if (students.size() == 0) {
                 throw new EntityNotFoundException(Student.class, 0L);
 
@@ -161,20 +284,97 @@ public class StudentServiceImpl implements IStudentService {
     }
 
     /**
-     * Retrieves a {@link Student} object given the id of the
-     * student.
+     * Retrieves the students with the given ids in one projection
+     * query, with their city and user joined in the same round trip.
+     *
+     * @param ids the ids given by the user, at most {@value #MAX_IDS}.
+     * @return a {@link MultiGetDTO} with the students in the order of
+     * the ids and the ids that do not exist.
+     * @throws IllegalArgumentException if there are no ids or too many ids.
+     */
+    @Override
+    public MultiGetDTO<StudentReadOnlyDTO> getStudentsByIds(Collection<Long> ids) {
+        Set<Long> distinctIds = MultiGet.distinct(ids, MAX_IDS);
+        return MultiGet.ordered(distinctIds, studentRepository.findReadOnlyByIdIn(distinctIds),
+                StudentReadOnlyDTO::getId);
+    }
+
+    /**
+     * This method returns a page of the students where their lastname
+     * begins with the parameter given by the user, ordered by lastname
+     * and id. Pages are read with keyset pagination, so every page costs
+     * the same regardless of its depth.
+     *
+     * @param lastname the parameter for searching the students' lastname.
+     * @param cursor   the continuation token of the previous page, or null
+     *                 for the first page.
+     * @param size     the requested page size, capped to the configured maximum.
+     * @return a {@link KeysetPageDTO} with {@link StudentReadOnlyDTO} projections.
+     * @throws EntityNotFoundException  if no student matches the first page.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Override
+    public KeysetPageDTO<StudentReadOnlyDTO> getStudentsByLastname(String lastname, String cursor, int size)
+            throws EntityNotFoundException {
+        int pageSize = Math.min(Math.max(size, 1), maxPageSize);
+        // one extra row tells whether a next page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<StudentReadOnlyDTO> students;
+        try {
+            if (cursor == null || cursor.isEmpty()) {
+                students = studentRepository.findFirstByLastnamePrefix(lastname, limit);
+                if (students.size() == 0) {
+                    throw new EntityNotFoundException(Student.class, 0L);
+                }
+            } else {
+                KeysetCursor after = KeysetCursor.decode(cursor);
+                students = studentRepository.findNextByLastnamePrefix(
+                        lastname, after.getKey(), after.getId(), limit);
+            }
+        } catch (EntityNotFoundException e) {
+            log.info("Error getting students with lastname starting with: \n" + e.getMessage());
+            throw e;
+        }
+
+        String next = null;
+        if (students.size() > pageSize) {
+            students = students.subList(0, pageSize);
+            StudentReadOnlyDTO last = students.get(pageSize - 1);
+            next = new KeysetCursor(last.getLastname(), last.getId()).encode();
+        }
+        return new KeysetPageDTO<>(students, next);
+    }
+
+    /**
+     * This method returns up to {@code limit} student lastnames that begin
+     * with the given prefix, ordered by lastname and id. It is served
+     * from the in-memory {@link LastnamePrefixIndex}, so it does not hit
+     * the database.
+     *
+     * @param prefix the beginning of the lastname, case and accent insensitive.
+     * @param limit  the maximum number of suggestions, capped to {@value #MAX_SUGGESTIONS}.
+     * @return a list of {@link LastnameMatchDTO} objects.
+     */
+    @Override
+    public List<LastnameMatchDTO> getLastnameSuggestions(String prefix, int limit) {
+        return lastnameIndexRegistry.students().search(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
+    /**
+     * Retrieves a student given its id, as a projection
+     * of the columns of {@link StudentReadOnlyDTO}.
      *
      * @param id id the id given by the user.
-     * @return a {@link Student} object
+     * @return a {@link StudentReadOnlyDTO} object
      * @throws EntityNotFoundException an error is occurred where the entity is not
      *                                 found for database operations, such as
      *                                 update, delete and retrieve.
      */
     @Override
-    public Student getStudentById(Long id) throws EntityNotFoundException {
-        Student student;
+    public StudentReadOnlyDTO getStudentById(Long id) throws EntityNotFoundException {
+        StudentReadOnlyDTO student;
         try {
-            student = studentRepository.getById(id);
+            student = studentRepository.findReadOnlyById(id);
             if (student == null) {
                 throw new EntityNotFoundException(Student.class, id);
             }
@@ -185,6 +385,32 @@ public class StudentServiceImpl implements IStudentService {
         return student;
     }
 
+    /**
+     * Retrieves the ETag of a student, built from the versions of
+     * the student and its user and the name of its city,
+     * without loading the student.
+     *
+     * @param id the id given by the user.
+     * @return the quoted ETag.
+     * @throws EntityNotFoundException an error is occurred where the entity is not
+     *                                 found for database operations, such as
+     *                                 update, delete and retrieve.
+     */
+    @Override
+    public String getStudentEtag(Long id) throws EntityNotFoundException {
+        EntityVersionDTO version;
+        try {
+            version = studentRepository.findVersionById(id);
+            if (version == null) {
+                throw new EntityNotFoundException(Student.class, id);
+            }
+        } catch (EntityNotFoundException e) {
+            log.info("Error getting the version of student: \n" + e.getMessage());
+            throw e;
+        }
+        return version.getEtag();
+    }
+
 
     /**
      * Maps {@link StudentInsertDTO} object to {@link Student}
@@ -192,11 +418,8 @@ public class StudentServiceImpl implements IStudentService {
      *
      * @param dto the {@link StudentInsertDTO} object to be inserted.
      * @return {@link Student} entity object.
-     * @throws ParseException this exception in occurred while parsing the date
-     *                        string to {@link java.util.Date} object for insertion
-     *                        in the database.
      */
-    private Student convertInsertDTO(StudentInsertDTO dto) throws ParseException {
+    private Student convertInsertDTO(StudentInsertDTO dto) {
         Student student = new Student();
         student.setId(null);
         student.setFirstname(dto.getFirstname());
@@ -204,9 +427,9 @@ public class StudentServiceImpl implements IStudentService {
         // enum gender
         Gender gender = dto.getGender().equals("M") ? Gender.M : Gender.F;
         student.setGender(gender);
-        student.setBirthDate(DateUtil.toDate(dto.getBirthdate()));
-        // retrieving city
-        City city = cityRepository.getCityByCityName(dto.getCity());
+        student.setBirthDate(dto.getBirthdate());
+        // resolving city without querying the database
+        City city = referenceDataResolver.cityReference(dto.getCity());
         student.setCity(city);
 //        System.out.println(city);
         // retrieving user
@@ -219,33 +442,84 @@ public class StudentServiceImpl implements IStudentService {
     }
 
     /**
-     * Converts {@link StudentUpdateDTO} object to {@link Student}
-     * object to call DAO layer.
+     * Copies a {@link StudentUpdateDTO} object to a
+     * managed {@link Student} entity.
      *
-     * @param dto the {@link StudentUpdateDTO} object to be updated.
-     * @return {@link Student} entity object.
-     * @throws ParseException this exception in occurred while parsing the date
-     *                        string to {@link java.util.Date} object for insertion
-     *                        in the database.
+     * @param student the managed student.
+     * @param dto     the {@link StudentUpdateDTO} object to be updated.
      */
-    private Student convertUpdateDTO(StudentUpdateDTO dto) throws ParseException {
-        Student student = new Student();
-
-        student.setId(dto.getId());
+    private void applyUpdateDTO(Student student, StudentUpdateDTO dto) {
         student.setFirstname(dto.getFirstname());
         student.setLastname(dto.getLastname());
         // enum gender
         Gender gender = dto.getGender().equals("M") ? Gender.M : Gender.F;
         student.setGender(gender);
-        student.setBirthDate(DateUtil.toDate(dto.getBirthdate()));
-        // retrieving city
-        City city = cityRepository.getCityByCityName(dto.getCity());
+        student.setBirthDate(dto.getBirthdate());
+        // resolving city without querying the database
+        City city = referenceDataResolver.cityReference(dto.getCity());
         student.setCity(city);
 
-        // retrieving user
-        User user = userRepository.findUserByUsernameEquals(dto.getUsername());
-        student.setUser(user);
+        // retrieving user, if it changes
+        User user = student.getUser();
+        if (user == null || !user.getUsername().equals(dto.getUsername())) {
+            student.setUser(userRepository.findUserByUsernameEquals(dto.getUsername()));
+        }
+    }
 
-        return student;
+    /**
+     * Checks the If-Match header of a conditional update
+     * against the current version of the student.
+     *
+     * @param student the managed student.
+     * @param ifMatch the If-Match header, or null for an unconditional update.
+     * @throws EntityVersionConflictException if the ETag of the student does not match.
+     */
+    private void checkIfMatch(Student student, String ifMatch) throws EntityVersionConflictException {
+        if (ifMatch == null) {
+            return;
+        }
+
+        User user = student.getUser();
+        City city = student.getCity();
+        String etag = ETags.of(student.getVersion(), user == null ? null : user.getVersion(),
+                city == null ? null : city.getCityName());
+        if (!ETags.ifMatchHolds(ifMatch, etag)) {
+            throw new EntityVersionConflictException(Student.class, student.getId());
+        }
+    }
+
+    /**
+     * Copies the members of a merge patch to a managed
+     * {@link Student} entity.
+     *
+     * @param student the managed student.
+     * @param patch   the merge patch document.
+     */
+    private void applyPatch(Student student, Map<String, Object> patch) {
+        if (patch.containsKey("firstname")) {
+            student.setFirstname(MergePatch.optionalString(patch, "firstname", 3, 50));
+        }
+        if (patch.containsKey("lastname")) {
+            student.setLastname(MergePatch.string(patch, "lastname", 3, 48));
+        }
+        if (patch.containsKey("gender")) {
+            student.setGender(Gender.valueOf(MergePatch.string(patch, "gender")));
+        }
+        if (patch.containsKey("birthdate")) {
+            String birthdate = MergePatch.string(patch, "birthdate");
+            try {
+                student.setBirthDate(DateUtil.toLocalDate(birthdate));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Field 'birthdate' must be in format dd-MM-yyyy", e);
+            }
+        }
+        if (patch.containsKey("city")) {
+            String cityName = MergePatch.string(patch, "city");
+            City city = referenceDataResolver.cityReference(cityName);
+            if (city == null) {
+                throw new IllegalArgumentException("City " + cityName + " does not exist");
+            }
+            student.setCity(city);
+        }
     }
 }
@@ -1,23 +1,43 @@
 package gr.aueb.cf.springschoolapp.service;
 
 
+import gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO;
+import gr.aueb.cf.springschoolapp.dto.pagedto.MultiGetDTO;
 import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.teacherdto.TeacherUpdateDTO;
+import gr.aueb.cf.springschoolapp.dto.userdto.UserLinkDTO;
+import gr.aueb.cf.springschoolapp.dto.versiondto.EntityVersionDTO;
 import gr.aueb.cf.springschoolapp.model.Speciality;
 import gr.aueb.cf.springschoolapp.model.Teacher;
 import gr.aueb.cf.springschoolapp.model.User;
-import gr.aueb.cf.springschoolapp.repository.ISpecialityRepository;
+import gr.aueb.cf.springschoolapp.repository.IMeetingRepository;
 import gr.aueb.cf.springschoolapp.repository.ITeacherRepository;
 import gr.aueb.cf.springschoolapp.repository.IUserRepository;
 import gr.aueb.cf.springschoolapp.service.exception.EntityAlreadyExistsException;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
+import gr.aueb.cf.springschoolapp.service.exception.EntityVersionConflictException;
 import gr.aueb.cf.springschoolapp.service.exception.SQLGenericException;
+import gr.aueb.cf.springschoolapp.service.index.LastnameIndexRegistry;
+import gr.aueb.cf.springschoolapp.service.index.LastnamePrefixIndex;
+import gr.aueb.cf.springschoolapp.service.scheduling.MeetingSchedule;
+import gr.aueb.cf.springschoolapp.service.util.ETags;
+import gr.aueb.cf.springschoolapp.service.util.MergePatch;
+import gr.aueb.cf.springschoolapp.service.util.MultiGet;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * This interface implements the Public API
@@ -32,16 +52,35 @@ import java.util.List;
 @Slf4j
 public class TeacherServiceImpl implements ITeacherService {
 
-    private final ISpecialityRepository specialityRepository;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_IDS = 100;
+    private static final Set<String> PATCHABLE_FIELDS =
+            Set.of("ssn", "firstname", "lastname", "speciality");
+    private static final Set<String> REQUIRED_FIELDS =
+            Set.of("ssn", "lastname", "speciality");
+
+    private final ReferenceDataResolver referenceDataResolver;
+    private final LastnameIndexRegistry lastnameIndexRegistry;
+    private final IUsernameAvailabilityService usernameAvailabilityService;
+    private final MeetingSchedule meetingSchedule;
+    private final IMeetingRepository meetingRepository;
     private final IUserRepository userRepository;
     private final ITeacherRepository teacherRepository;
 
     @Autowired
     public TeacherServiceImpl(
-            ISpecialityRepository specialityRepository,
+            ReferenceDataResolver referenceDataResolver,
+            LastnameIndexRegistry lastnameIndexRegistry,
+            IUsernameAvailabilityService usernameAvailabilityService,
+            MeetingSchedule meetingSchedule,
             IUserRepository userRepository,
-            ITeacherRepository teacherRepository) {
-        this.specialityRepository = specialityRepository;
+            ITeacherRepository teacherRepository,
+            IMeetingRepository meetingRepository) {
+        this.referenceDataResolver = referenceDataResolver;
+        this.lastnameIndexRegistry = lastnameIndexRegistry;
+        this.usernameAvailabilityService = usernameAvailabilityService;
+        this.meetingSchedule = meetingSchedule;
+        this.meetingRepository = meetingRepository;
         this.userRepository = userRepository;
         this.teacherRepository = teacherRepository;
     }
@@ -83,30 +122,85 @@ public class TeacherServiceImpl implements ITeacherService {
 
     /**
      * This method updates an old teacher record with a new one.
+     * The data are copied to the managed teacher, so Hibernate
+     * checks and increments its version.
      *
-     * @param dto the Data Transfer Object with the data for update the record.
+     * @param dto     the Data Transfer Object with the data for update the record.
+     * @param ifMatch the If-Match header of the request, or null.
      * @return the updated {@link Teacher} object.
-     * @throws EntityNotFoundException an error is occurred where the entity is not
-     *                                 found for database operations, such as
-     *                                 update, delete and retrieve.
+     * @throws EntityNotFoundException        an error is occurred where the entity is not
+     *                                        found for database operations, such as
+     *                                        update, delete and retrieve.
+     * @throws EntityVersionConflictException if the teacher has been modified since
+     *                                        the version given in If-Match.
      */
     @Transactional
     @Override
-    public Teacher updateTeacher(TeacherUpdateDTO dto) throws EntityNotFoundException {
+    public Teacher updateTeacher(TeacherUpdateDTO dto, String ifMatch)
+            throws EntityNotFoundException, EntityVersionConflictException {
         Teacher teacher;
-        Teacher updatedTeacher;
         try {
-            teacher = teacherRepository.getById(dto.getId());
-
+            teacher = teacherRepository.findById(dto.getId()).orElse(null);
             if (teacher == null) {
                 throw new EntityNotFoundException(Teacher.class, dto.getId());
             }
-            updatedTeacher = teacherRepository.save(convertUpdateDTO(dto));
-        } catch (EntityNotFoundException e) {
-            log.info("Error updating teacher");
+            checkIfMatch(teacher, ifMatch);
+            applyUpdateDTO(teacher, dto);
+        } catch (EntityNotFoundException | EntityVersionConflictException e) {
+            log.info("Error updating teacher: \n" + e.getMessage());
             throw e;
         }
-        return updatedTeacher;
+        return teacher;
+    }
+
+    /**
+     * This method applies a JSON Merge Patch to a teacher. The
+     * teacher is loaded once and only the given fields are changed,
+     * so the UPDATE contains just the modified columns.
+     *
+     * @param id      the id of the teacher.
+     * @param patch   the merge patch document.
+     * @param ifMatch the If-Match header of the request, or null.
+     * @return the patched {@link Teacher} object.
+     * @throws EntityNotFoundException        an error is occurred where the entity is not
+     *                                        found for database operations, such as
+     *                                        update, delete and retrieve.
+     * @throws EntityAlreadyExistsException   if the new SSN belongs to another teacher.
+     * @throws EntityVersionConflictException if the teacher has been modified since
+     *                                        the version given in If-Match.
+     * @throws IllegalArgumentException       if the patch has unknown fields, clears a
+     *                                        required field or has invalid values.
+     */
+    @Transactional
+    @Override
+    public Teacher patchTeacher(Long id, Map<String, Object> patch, String ifMatch)
+            throws EntityNotFoundException, EntityAlreadyExistsException, EntityVersionConflictException {
+        Teacher teacher;
+        try {
+            MergePatch.requireOnly(patch, PATCHABLE_FIELDS);
+            MergePatch.requireNonNull(patch, REQUIRED_FIELDS);
+            teacher = teacherRepository.findById(id).orElse(null);
+            if (teacher == null) {
+                throw new EntityNotFoundException(Teacher.class, id);
+            }
+            checkIfMatch(teacher, ifMatch);
+            // checked before any change, since a checked exception does not roll back
+            if (patch.containsKey("ssn")) {
+                String ssn = MergePatch.string(patch, "ssn", 6, 6);
+                Teacher owner = teacherRepository.getTeacherBySsn(ssn);
+                if (owner != null && !owner.getId().equals(id)) {
+                    throw new EntityAlreadyExistsException(
+                            Teacher.class,
+                            "Teacher with SSN " + ssn + " already exists");
+                }
+            }
+            applyPatch(teacher, patch);
+        } catch (EntityNotFoundException | EntityAlreadyExistsException
+                 | EntityVersionConflictException | IllegalArgumentException e) {
+            log.info("Error patching teacher: \n" + e.getMessage());
+            throw e;
+        }
+        return teacher;
     }
 
     /**
@@ -136,22 +230,73 @@ public class TeacherServiceImpl implements ITeacherService {
         return teacher;
     }
 
+    /**
+     * This method deletes the teachers with the given ids, all or
+     * none. Existence is checked with one query and the rows are
+     * removed with set-based statements, together with their references from meetings
+     * and their user accounts.
+     *
+     * @param ids the ids given by the user.
+     * @return the number of deleted teachers.
+     * @throws EntityNotFoundException if any of the teachers does not exist.
+     */
+    @Transactional
+    @Override
+    public int deleteTeachers(Collection<Long> ids) throws EntityNotFoundException {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        try {
+            List<UserLinkDTO> links = teacherRepository.findUserLinksByIdIn(distinctIds);
+            Set<Long> found = new HashSet<>();
+            List<Long> userIds = new ArrayList<>();
+            for (UserLinkDTO link : links) {
+                found.add(link.getOwnerId());
+                if (link.getUserId() != null) {
+                    userIds.add(link.getUserId());
+                }
+            }
+            for (Long id : distinctIds) {
+                if (!found.contains(id)) {
+                    throw new EntityNotFoundException(Teacher.class, id);
+                }
+            }
+
+            // meetings outlive their teacher, as with the nullable TEACHER_ID
+            meetingRepository.clearTeacherByTeacherIdIn(distinctIds);
+            teacherRepository.deleteAllByIdInBatch(distinctIds);
+            if (!userIds.isEmpty()) {
+                userRepository.deleteAllByIdInBatch(userIds);
+            }
+
+            lastnameIndexRegistry.teachersRemoved(distinctIds);
+            meetingSchedule.teachersRemoved(distinctIds);
+            for (UserLinkDTO link : links) {
+                if (link.getUsername() != null) {
+                    usernameAvailabilityService.usernameRemoved(link.getUsername());
+                }
+            }
+        } catch (EntityNotFoundException e) {
+            log.info("Error deleting teachers: \n" + e.getMessage());
+            throw e;
+        }
+        return distinctIds.size();
+    }
+
     /**
      * This method returns the teachers where their lastname
      * begins with the parameter given by the client.
      *
      * @param lastname the parameter for searching the teachers' lastname.
-     * @return an {@link java.util.ArrayList} with {@link Teacher} objects.
+     * @return an {@link java.util.ArrayList} with {@link TeacherReadOnlyDTO} projections.
      * @throws EntityNotFoundException an error is occurred where the entity is not
      *                                 found for database operations, such as
      *                                 update, delete and retrieve.
      */
     @Override
-    public List<Teacher> getTeachersByLastname(String lastname) throws EntityNotFoundException {
-        List<Teacher> teachers;
+    public List<TeacherReadOnlyDTO> getTeachersByLastname(String lastname) throws EntityNotFoundException {
+        List<TeacherReadOnlyDTO> teachers;
 
         try {
-            teachers = teacherRepository.getTeachersByLastnameStartingWith(lastname);
+            teachers = teacherRepository.findReadOnlyByLastnamePrefix(lastname);
 
             if (teachers.size() == 0) {
                 throw new EntityNotFoundException(List.class, 0L);
@@ -169,16 +314,17 @@ public class TeacherServiceImpl implements ITeacherService {
      * by the user.
      *
      * @param id the id given by the user.
+     * @return a {@link TeacherReadOnlyDTO} projection.
      * @throws EntityNotFoundException an error is occurred where the entity is not
      *                                 found for database operations, such as
      *                                 update, delete and retrieve.
      */
     @Override
-    public Teacher getTeacherById(Long id) throws EntityNotFoundException {
-        Teacher teacher;
+    public TeacherReadOnlyDTO getTeacherById(Long id) throws EntityNotFoundException {
+        TeacherReadOnlyDTO teacher;
 
         try {
-            teacher = teacherRepository.getById(id);
+            teacher = teacherRepository.findReadOnlyById(id);
             if (teacher == null) {
                 throw new EntityNotFoundException(Teacher.class, id);
             }
@@ -191,6 +337,79 @@ public class TeacherServiceImpl implements ITeacherService {
         return teacher;
     }
 
+    /**
+     * Retrieves the ETag of a teacher, built from the versions of
+     * the teacher and its user and the name of its speciality,
+     * without loading the teacher.
+     *
+     * @param id the id given by the user.
+     * @return the quoted ETag.
+     * @throws EntityNotFoundException an error is occurred where the entity is not
+     *                                 found for database operations, such as
+     *                                 update, delete and retrieve.
+     */
+    @Override
+    public String getTeacherEtag(Long id) throws EntityNotFoundException {
+        EntityVersionDTO version;
+        try {
+            version = teacherRepository.findVersionById(id);
+            if (version == null) {
+                throw new EntityNotFoundException(Teacher.class, id);
+            }
+        } catch (EntityNotFoundException e) {
+            log.info("Error getting the version of teacher: \n" + e.getMessage());
+            throw e;
+        }
+        return version.getEtag();
+    }
+
+    /**
+     * Retrieves the teachers with the given ids in one projection
+     * query, with their speciality and user joined in the same round trip.
+     *
+     * @param ids the ids given by the user, at most {@value #MAX_IDS}.
+     * @return a {@link MultiGetDTO} with the teachers in the order of
+     * the ids and the ids that do not exist.
+     * @throws IllegalArgumentException if there are no ids or too many ids.
+     */
+    @Override
+    public MultiGetDTO<TeacherReadOnlyDTO> getTeachersByIds(Collection<Long> ids) {
+        Set<Long> distinctIds = MultiGet.distinct(ids, MAX_IDS);
+        return MultiGet.ordered(distinctIds, teacherRepository.findReadOnlyByIdIn(distinctIds),
+                TeacherReadOnlyDTO::getId);
+    }
+
+    /**
+     * Performs the given action for every teacher in the database,
+     * reading them through a server-side cursor. The rows are read
+     * as projections, so the persistence context stays empty no
+     * matter the number of rows.
+     *
+     * @param action the action to be performed for each {@link TeacherReadOnlyDTO}.
+     */
+    @Transactional
+    @Override
+    public void forEachTeacher(Consumer<TeacherReadOnlyDTO> action) {
+        try (Stream<TeacherReadOnlyDTO> teachers = teacherRepository.streamAllReadOnly()) {
+            teachers.forEach(action);
+        }
+    }
+
+    /**
+     * This method returns up to {@code limit} teacher lastnames that begin
+     * with the given prefix, ordered by lastname and id. It is served
+     * from the in-memory {@link LastnamePrefixIndex}, so it does not hit
+     * the database.
+     *
+     * @param prefix the beginning of the lastname, case and accent insensitive.
+     * @param limit  the maximum number of suggestions, capped to {@value #MAX_SUGGESTIONS}.
+     * @return a list of {@link LastnameMatchDTO} objects.
+     */
+    @Override
+    public List<LastnameMatchDTO> getLastnameSuggestions(String prefix, int limit) {
+        return lastnameIndexRegistry.teachers().search(prefix, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
     /**
      * Maps {@link TeacherInsertDTO} object to {@link Teacher}
      * object to call DAO layer.
@@ -204,9 +423,8 @@ public class TeacherServiceImpl implements ITeacherService {
         teacher.setSsn(dto.getSsn());
         teacher.setFirstname(dto.getFirstname());
         teacher.setLastname(dto.getLastname());
-        // retrieving speciality object
-        Speciality speciality = specialityRepository.getSpecialityBySpecialityName(dto.getSpeciality());
-        System.out.println(speciality);
+        // resolving speciality without querying the database
+        Speciality speciality = referenceDataResolver.specialityReference(dto.getSpeciality());
 
         teacher.setSpeciality(speciality);
         // retrieving user object
@@ -218,27 +436,73 @@ public class TeacherServiceImpl implements ITeacherService {
     }
 
     /**
-     * Maps {@link TeacherUpdateDTO} object to {@link Teacher}
-     * object to call DAO layer.
+     * Copies a {@link TeacherUpdateDTO} object to a
+     * managed {@link Teacher} entity.
      *
-     * @param dto the {@link TeacherUpdateDTO} object for update.
-     * @return {@link Teacher} entity object.
+     * @param teacher the managed teacher.
+     * @param dto     the {@link TeacherUpdateDTO} object for update.
      */
-    private Teacher convertUpdateDTO(TeacherUpdateDTO dto) {
-        Teacher teacher = new Teacher();
-
-        teacher.setId(dto.getId());
+    private void applyUpdateDTO(Teacher teacher, TeacherUpdateDTO dto) {
         teacher.setSsn(dto.getSsn());
         teacher.setFirstname(dto.getFirstname());
         teacher.setLastname(dto.getLastname());
 
-        // retrieving speciality object
-        Speciality speciality = specialityRepository.getSpecialityBySpecialityName(dto.getSpeciality());
+        // resolving speciality without querying the database
+        Speciality speciality = referenceDataResolver.specialityReference(dto.getSpeciality());
         teacher.setSpeciality(speciality);
-        // retrieving user object
-        User user = userRepository.findUserByUsernameEquals(dto.getUsername());
-        teacher.setUser(user);
-        System.out.println(teacher);
-        return teacher;
+        // retrieving user object, if it changes
+        User user = teacher.getUser();
+        if (user == null || !user.getUsername().equals(dto.getUsername())) {
+            teacher.setUser(userRepository.findUserByUsernameEquals(dto.getUsername()));
+        }
+    }
+
+    /**
+     * Checks the If-Match header of a conditional update
+     * against the current version of the teacher.
+     *
+     * @param teacher the managed teacher.
+     * @param ifMatch the If-Match header, or null for an unconditional update.
+     * @throws EntityVersionConflictException if the ETag of the teacher does not match.
+     */
+    private void checkIfMatch(Teacher teacher, String ifMatch) throws EntityVersionConflictException {
+        if (ifMatch == null) {
+            return;
+        }
+
+        User user = teacher.getUser();
+        Speciality speciality = teacher.getSpeciality();
+        String etag = ETags.of(teacher.getVersion(), user == null ? null : user.getVersion(),
+                speciality == null ? null : speciality.getSpecialityName());
+        if (!ETags.ifMatchHolds(ifMatch, etag)) {
+            throw new EntityVersionConflictException(Teacher.class, teacher.getId());
+        }
+    }
+
+    /**
+     * Copies the members of a merge patch to a managed
+     * {@link Teacher} entity.
+     *
+     * @param teacher the managed teacher.
+     * @param patch   the merge patch document.
+     */
+    private void applyPatch(Teacher teacher, Map<String, Object> patch) {
+        if (patch.containsKey("ssn")) {
+            teacher.setSsn(MergePatch.string(patch, "ssn", 6, 6));
+        }
+        if (patch.containsKey("firstname")) {
+            teacher.setFirstname(MergePatch.optionalString(patch, "firstname", 3, 50));
+        }
+        if (patch.containsKey("lastname")) {
+            teacher.setLastname(MergePatch.string(patch, "lastname", 3, 50));
+        }
+        if (patch.containsKey("speciality")) {
+            String specialityName = MergePatch.string(patch, "speciality");
+            Speciality speciality = referenceDataResolver.specialityReference(specialityName);
+            if (speciality == null) {
+                throw new IllegalArgumentException("Speciality " + specialityName + " does not exist");
+            }
+            teacher.setSpeciality(speciality);
+        }
     }
 }
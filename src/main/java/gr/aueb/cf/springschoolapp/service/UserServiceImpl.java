@@ -1,19 +1,31 @@
 package gr.aueb.cf.springschoolapp.service;
 
 
+import gr.aueb.cf.springschoolapp.dto.pagedto.MultiGetDTO;
+import gr.aueb.cf.springschoolapp.dto.userdto.UserLinkDTO;
+import gr.aueb.cf.springschoolapp.dto.userdto.UserReadOnlyDTO;
 import gr.aueb.cf.springschoolapp.dto.userdto.UserRegisterDTO;
 import gr.aueb.cf.springschoolapp.dto.userdto.UserUpdateDTO;
 import gr.aueb.cf.springschoolapp.model.User;
+import gr.aueb.cf.springschoolapp.repository.IStudentRepository;
+import gr.aueb.cf.springschoolapp.repository.ITeacherRepository;
 import gr.aueb.cf.springschoolapp.repository.IUserRepository;
 import gr.aueb.cf.springschoolapp.service.exception.EntityAlreadyExistsException;
 import gr.aueb.cf.springschoolapp.service.exception.EntityNotFoundException;
 import gr.aueb.cf.springschoolapp.service.exception.SQLGenericException;
+import gr.aueb.cf.springschoolapp.service.util.MultiGet;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This interface implements the Public API
@@ -28,38 +40,62 @@ import java.util.List;
 @Slf4j
 public class UserServiceImpl implements IUserService {
 
+    private static final int MAX_IDS = 100;
+
     private final IUserRepository userRepository;
+    private final IUsernameAvailabilityService usernameAvailabilityService;
+    private final IStudentRepository studentRepository;
+    private final ITeacherRepository teacherRepository;
+    private final IStudentService studentService;
+    private final ITeacherService teacherService;
 
     @Autowired
-    public UserServiceImpl(IUserRepository userRepository) {
+    public UserServiceImpl(
+            IUserRepository userRepository,
+            IUsernameAvailabilityService usernameAvailabilityService,
+            IStudentRepository studentRepository,
+            ITeacherRepository teacherRepository,
+            IStudentService studentService,
+            ITeacherService teacherService) {
         this.userRepository = userRepository;
+        this.usernameAvailabilityService = usernameAvailabilityService;
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.studentService = studentService;
+        this.teacherService = teacherService;
     }
 
     /**
-     * This method inserts a new teacher in the database.
+     * This method inserts a new user in the database.
+     * The availability check is only a fast path; the unique
+     * constraint on the username decides, since the username may
+     * have been taken on another node.
      *
      * @param dto the Data Transfer Object with the data for insert the record.
      * @return the inserted {@link User} entity.
      * @throws EntityAlreadyExistsException handles insert error where the user
      *                                      already exists.
      */
-    @Transactional
+    @Transactional(rollbackOn = EntityAlreadyExistsException.class)
     @Override
     public User insertUser(UserRegisterDTO dto) throws EntityAlreadyExistsException, SQLGenericException {
         User user;
         try {
-            user = userRepository.findUserByUsernameEquals(dto.getUsername());
-            if (user != null) {
-                throw new EntityAlreadyExistsException(
-                        User.class,
-                        "User with username " + dto.getUsername() + " already exists");
+            if (!usernameAvailabilityService.isAvailable(dto.getUsername())) {
+                throw usernameTaken(dto.getUsername());
+            }
+            try {
+                // flushed here, so a violation of the unique username is reported by this method
+                user = userRepository.saveAndFlush(convertInsertDTO(dto));
+            } catch (DataIntegrityViolationException e) {
+                throw usernameTaken(dto.getUsername());
             }
-            user = userRepository.save(convertInsertDTO(dto));
             if (user.getId() == null) {
                 throw new SQLGenericException(
                         User.class,
                         "Error inserting user with username = " + dto.getUsername());
             }
+            usernameAvailabilityService.usernameAdded(user.getUsername());
         } catch (EntityAlreadyExistsException | SQLGenericException e) {
             log.info("Error inserting user: \n" + e.getMessage());
             throw e;
@@ -67,6 +103,10 @@ public class UserServiceImpl implements IUserService {
         return user;
     }
 
+    private static EntityAlreadyExistsException usernameTaken(String username) {
+        return new EntityAlreadyExistsException(User.class, "User with username " + username + " already exists");
+    }
+
     /**
      * This method updates an old user record with a new one.
      *
@@ -97,22 +137,34 @@ public class UserServiceImpl implements IUserService {
 
     /**
      * This method deletes a student with an id given
-     * by the user.
+     * by the user. The student or teacher of the user, if any,
+     * is deleted together with it.
      *
      * @param id the id given by the user.
      * @throws EntityNotFoundException an error is occurred where the entity is not
      *                                 found for database operations, such as
      *                                 update, delete and retrieve.
      */
+    @Transactional
     @Override
     public User deleteUser(Long id) throws EntityNotFoundException {
         User user;
         try {
-            user = userRepository.getById(id);
-            if (user == null) {
-                throw new EntityNotFoundException(User.class, id);
+            // loaded, not a proxy: the bulk deletes below remove the row
+            // before the caller reads the username of the deleted user
+            user = userRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException(User.class, id));
+            List<Long> userIds = List.of(id);
+            List<UserLinkDTO> studentLinks = studentRepository.findUserLinksByUserIdIn(userIds);
+            List<UserLinkDTO> teacherLinks = teacherRepository.findUserLinksByUserIdIn(userIds);
+            if (!studentLinks.isEmpty()) {
+                studentService.deleteStudents(List.of(studentLinks.get(0).getOwnerId()));
+            } else if (!teacherLinks.isEmpty()) {
+                teacherService.deleteTeachers(List.of(teacherLinks.get(0).getOwnerId()));
+            } else {
+                userRepository.deleteById(id);
+                usernameAvailabilityService.usernameRemoved(user.getUsername());
             }
-            userRepository.deleteById(id);
         } catch (EntityNotFoundException e) {
             log.info("Error deleting user with id: " + id);
             throw e;
@@ -120,6 +172,82 @@ public class UserServiceImpl implements IUserService {
         return user;
     }
 
+    /**
+     * This method deletes the users with the given ids, all or none.
+     * Existence is checked with one query. The students and teachers
+     * of the users are deleted in bulk first, together with their
+     * accounts, and the remaining users with one set-based statement.
+     *
+     * @param ids the ids given by the user.
+     * @return the number of deleted users.
+     * @throws EntityNotFoundException if any of the users does not exist.
+     */
+    @Transactional
+    @Override
+    public int deleteUsers(Collection<Long> ids) throws EntityNotFoundException {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        try {
+            List<UserReadOnlyDTO> users = userRepository.findReadOnlyByIdIn(distinctIds);
+            Set<Long> found = new HashSet<>();
+            for (UserReadOnlyDTO user : users) {
+                found.add(user.getId());
+            }
+            for (Long id : distinctIds) {
+                if (!found.contains(id)) {
+                    throw new EntityNotFoundException(User.class, id);
+                }
+            }
+
+            Set<Long> ownedUserIds = new HashSet<>();
+            List<Long> studentIds = new ArrayList<>();
+            for (UserLinkDTO link : studentRepository.findUserLinksByUserIdIn(distinctIds)) {
+                studentIds.add(link.getOwnerId());
+                ownedUserIds.add(link.getUserId());
+            }
+            List<Long> teacherIds = new ArrayList<>();
+            for (UserLinkDTO link : teacherRepository.findUserLinksByUserIdIn(distinctIds)) {
+                teacherIds.add(link.getOwnerId());
+                ownedUserIds.add(link.getUserId());
+            }
+            if (!studentIds.isEmpty()) {
+                studentService.deleteStudents(studentIds);
+            }
+            if (!teacherIds.isEmpty()) {
+                teacherService.deleteTeachers(teacherIds);
+            }
+
+            List<Long> remainingIds = new ArrayList<>();
+            for (UserReadOnlyDTO user : users) {
+                if (!ownedUserIds.contains(user.getId())) {
+                    remainingIds.add(user.getId());
+                    usernameAvailabilityService.usernameRemoved(user.getUsername());
+                }
+            }
+            if (!remainingIds.isEmpty()) {
+                userRepository.deleteAllByIdInBatch(remainingIds);
+            }
+        } catch (EntityNotFoundException e) {
+            log.info("Error deleting users: \n" + e.getMessage());
+            throw e;
+        }
+        return distinctIds.size();
+    }
+
+    /**
+     * Retrieves the users with the given ids in one query, with
+     * their username fetched in the same round trip.
+     *
+     * @param ids the ids given by the user, at most {@value #MAX_IDS}.
+     * @return a {@link MultiGetDTO} with the users in the order of
+     * the ids and the ids that do not exist.
+     * @throws IllegalArgumentException if there are no ids or too many ids.
+     */
+    @Override
+    public MultiGetDTO<UserReadOnlyDTO> getUsersByIds(Collection<Long> ids) {
+        Set<Long> distinctIds = MultiGet.distinct(ids, MAX_IDS);
+        return MultiGet.ordered(distinctIds, userRepository.findReadOnlyByIdIn(distinctIds), UserReadOnlyDTO::getId);
+    }
+
     /**
      * This method returns the users where their username begins
      * with the username parameter given by the client.
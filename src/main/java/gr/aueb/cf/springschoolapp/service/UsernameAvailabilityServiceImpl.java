@@ -0,0 +1,178 @@
+package gr.aueb.cf.springschoolapp.service;
+
+import gr.aueb.cf.springschoolapp.repository.IUserRepository;
+import gr.aueb.cf.springschoolapp.service.util.BloomFilter;
+import gr.aueb.cf.springschoolapp.service.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * This class implements the Public API of the
+ * {@link IUsernameAvailabilityService} interface.
+ * <p>
+ * A Bloom filter with every username in the database answers
+ * the common case, a username that was never taken, without a
+ * query. Only when the filter reports a possible match is the
+ * database asked. Removed usernames stay in the filter until it
+ * is rebuilt, which happens in the background after a number of
+ * removals or when more usernames were added than it was sized for.
+ * <p>
+ * The filter only knows the usernames loaded from the database and
+ * the ones inserted through this node, so a username just taken on
+ * another node can be reported as free until the next rebuild. The
+ * unique constraint of USERS.USERNAME stays the final check, see
+ * {@link UserServiceImpl#insertUser}.
+ *
+ * @author Thanasis Chousiadas
+ */
+@Service
+@Slf4j
+public class UsernameAvailabilityServiceImpl implements IUsernameAvailabilityService {
+
+    private final IUserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long minCapacity;
+    private final double falsePositiveRate;
+    private final long rebuildAfterRemovals;
+
+    private final AtomicReference<BloomFilter> filter = new AtomicReference<>();
+    private final AtomicLong removals = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // guards the swap of a rebuilt filter against concurrent additions
+    private final Object additionsLock = new Object();
+    private final Set<String> addedDuringRebuild = new HashSet<>();
+
+    @Autowired
+    public UsernameAvailabilityServiceImpl(
+            IUserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.users.bloom.min-capacity:100000}") long minCapacity,
+            @Value("${app.users.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.users.bloom.rebuild-after-removals:10000}") long rebuildAfterRemovals) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minCapacity = minCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildAfterRemovals = rebuildAfterRemovals;
+    }
+
+    @PostConstruct
+    public void init() {
+        filter.set(load());
+    }
+
+    /**
+     * Checks whether a username is free. Usernames are
+     * stored in lowercase, so the check is case-insensitive.
+     *
+     * @param username the username given by the client.
+     * @return true if no user has this username.
+     */
+    @Override
+    public boolean isAvailable(String username) {
+        String normalized = normalize(username);
+        if (!filter.get().mightContain(normalized)) {
+            return true;
+        }
+        return !userRepository.isUsernameValid(normalized);
+    }
+
+    /**
+     * Adds a username to the filter once the current transaction
+     * commits. It must be called after a user is inserted.
+     *
+     * @param username the username of the new user.
+     */
+    @Override
+    public void usernameAdded(String username) {
+        String normalized = normalize(username);
+        TransactionCallbacks.afterCommit(() -> add(normalized));
+    }
+
+    /**
+     * Records that a username was removed. The filter keeps
+     * answering "maybe taken" for it, which only costs a query,
+     * until enough removals trigger a rebuild.
+     *
+     * @param username the username of the deleted user.
+     */
+    @Override
+    public void usernameRemoved(String username) {
+        if (removals.incrementAndGet() >= rebuildAfterRemovals) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * Puts a committed username in the filter. While a rebuild is
+     * loading, the username is also kept aside, so it is copied to
+     * the rebuilt filter even if the load started before the insert.
+     */
+    private void add(String normalized) {
+        BloomFilter current;
+        synchronized (additionsLock) {
+            current = filter.get();
+            current.put(normalized);
+            if (rebuilding.get()) {
+                addedDuringRebuild.add(normalized);
+            }
+        }
+        if (current.isSaturated()) {
+            rebuildAsync();
+        }
+    }
+
+    private void rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            BloomFilter rebuilt = null;
+            try {
+                removals.set(0);
+                rebuilt = load();
+            } catch (RuntimeException e) {
+                log.error("Error rebuilding the usernames' Bloom filter", e);
+            } finally {
+                synchronized (additionsLock) {
+                    if (rebuilt != null) {
+                        addedDuringRebuild.forEach(rebuilt::put);
+                        filter.set(rebuilt);
+                    }
+                    addedDuringRebuild.clear();
+                    rebuilding.set(false);
+                }
+            }
+        });
+    }
+
+    private BloomFilter load() {
+        long capacity = Math.max(minCapacity, userRepository.count() * 2);
+        BloomFilter loaded = new BloomFilter(capacity, falsePositiveRate);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                usernames.map(UsernameAvailabilityServiceImpl::normalize).forEach(loaded::put);
+            }
+        });
+        log.info("Loaded usernames' Bloom filter with capacity " + capacity);
+        return loaded;
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,23 @@
+package gr.aueb.cf.springschoolapp.service.exception;
+
+/**
+ * This exception is used when a conditional update (If-Match)
+ * is based on a version of an Entity that is no longer the
+ * current one.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class EntityVersionConflictException extends Exception {
+    private static final long serialVersionUID = 100L;
+
+    /**
+     * Overloaded constructor. It receives the Entity's name and the id of the
+     * record that has been modified since the client read it, and outputs a message.
+     *
+     * @param clazz the simple name of the Entity (class name).
+     * @param id    the PK of the record.
+     */
+    public EntityVersionConflictException(Class<?> clazz, Long id) {
+        super("Entity " + clazz.getSimpleName() + " with id " + id + " has been modified");
+    }
+}
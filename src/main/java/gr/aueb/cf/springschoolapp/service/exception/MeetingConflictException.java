@@ -0,0 +1,31 @@
+package gr.aueb.cf.springschoolapp.service.exception;
+
+/**
+ * This exception is used when a meeting is scheduled at a
+ * time where its teacher or its meeting room is already
+ * booked by another meeting.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class MeetingConflictException extends Exception {
+    private static final long serialVersionUID = 100L;
+
+    private final Long conflictingMeetingId;
+
+    /**
+     * Overloaded constructor. It receives the double-booked resource and
+     * the id of the meeting that already holds it and outputs a message.
+     *
+     * @param resource             a description of the double-booked resource.
+     * @param conflictingMeetingId the id of the meeting that already holds the resource.
+     */
+    public MeetingConflictException(String resource, Long conflictingMeetingId) {
+        super("[Scheduling Error]: " + resource + " is already booked by meeting with id "
+                + conflictingMeetingId);
+        this.conflictingMeetingId = conflictingMeetingId;
+    }
+
+    public Long getConflictingMeetingId() {
+        return conflictingMeetingId;
+    }
+}
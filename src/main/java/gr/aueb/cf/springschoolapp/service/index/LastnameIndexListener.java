@@ -0,0 +1,69 @@
+package gr.aueb.cf.springschoolapp.service.index;
+
+import gr.aueb.cf.springschoolapp.model.Student;
+import gr.aueb.cf.springschoolapp.model.Teacher;
+import gr.aueb.cf.springschoolapp.service.util.TransactionCallbacks;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.function.Consumer;
+
+/**
+ * JPA entity listener of {@link Student} and {@link Teacher} that
+ * applies their lastname changes to the {@link LastnameIndexRegistry}.
+ * Changes are applied after the transaction commits, so a rollback
+ * leaves the indexes untouched.
+ * <p>
+ * Hibernate creates it through Spring. The registry is looked up
+ * lazily, so the entities can also be used where it is not present,
+ * e.g. in JPA slice tests.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class LastnameIndexListener {
+
+    private final ObjectProvider<LastnameIndexRegistry> registry;
+
+    @Autowired
+    public LastnameIndexListener(ObjectProvider<LastnameIndexRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Student) {
+            Student student = (Student) entity;
+            Long id = student.getId();
+            String lastname = student.getLastname();
+            afterCommit(index -> index.students().put(id, lastname));
+        } else if (entity instanceof Teacher) {
+            Teacher teacher = (Teacher) entity;
+            Long id = teacher.getId();
+            String lastname = teacher.getLastname();
+            afterCommit(index -> index.teachers().put(id, lastname));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Student) {
+            Long id = ((Student) entity).getId();
+            afterCommit(index -> index.students().remove(id));
+        } else if (entity instanceof Teacher) {
+            Long id = ((Teacher) entity).getId();
+            afterCommit(index -> index.teachers().remove(id));
+        }
+    }
+
+    private void afterCommit(Consumer<LastnameIndexRegistry> action) {
+        LastnameIndexRegistry index = registry.getIfAvailable();
+        if (index == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> action.accept(index));
+    }
+}
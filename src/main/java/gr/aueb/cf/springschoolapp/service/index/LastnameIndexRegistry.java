@@ -0,0 +1,95 @@
+package gr.aueb.cf.springschoolapp.service.index;
+
+import gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO;
+import gr.aueb.cf.springschoolapp.repository.IStudentRepository;
+import gr.aueb.cf.springschoolapp.repository.ITeacherRepository;
+import gr.aueb.cf.springschoolapp.service.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Holds the lastname prefix indexes of students and teachers.
+ * They are loaded from the database at startup and kept up to
+ * date by the {@link LastnameIndexListener} entity listener.
+ *
+ * @author Thanasis Chousiadas
+ */
+@Component
+@Slf4j
+public class LastnameIndexRegistry {
+
+    private final IStudentRepository studentRepository;
+    private final ITeacherRepository teacherRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LastnamePrefixIndex students = new LastnamePrefixIndex();
+    private final LastnamePrefixIndex teachers = new LastnamePrefixIndex();
+
+    @Autowired
+    public LastnameIndexRegistry(
+            IStudentRepository studentRepository,
+            ITeacherRepository teacherRepository,
+            PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<LastnameMatchDTO> rows = studentRepository.streamAllLastnames()) {
+                rows.forEach(row -> students.put(row.getId(), row.getLastname()));
+            }
+            try (Stream<LastnameMatchDTO> rows = teacherRepository.streamAllLastnames()) {
+                rows.forEach(row -> teachers.put(row.getId(), row.getLastname()));
+            }
+        });
+        log.info("Loaded lastname indexes with " + students.size() + " students and "
+                + teachers.size() + " teachers");
+    }
+
+    /**
+     * Removes students deleted with a bulk statement, which bypasses
+     * the entity listener, once the current transaction commits.
+     *
+     * @param ids the ids of the deleted students.
+     */
+    public void studentsRemoved(Collection<Long> ids) {
+        TransactionCallbacks.afterCommit(() -> ids.forEach(students::remove));
+    }
+
+    /**
+     * Removes teachers deleted with a bulk statement, which bypasses
+     * the entity listener, once the current transaction commits.
+     *
+     * @param ids the ids of the deleted teachers.
+     */
+    public void teachersRemoved(Collection<Long> ids) {
+        TransactionCallbacks.afterCommit(() -> ids.forEach(teachers::remove));
+    }
+
+    /**
+     * Getter for the index of the students' lastnames.
+     *
+     * @return the students' index.
+     */
+    public LastnamePrefixIndex students() {
+        return students;
+    }
+
+    /**
+     * Getter for the index of the teachers' lastnames.
+     *
+     * @return the teachers' index.
+     */
+    public LastnamePrefixIndex teachers() {
+        return teachers;
+    }
+}
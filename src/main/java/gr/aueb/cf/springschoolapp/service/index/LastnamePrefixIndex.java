@@ -0,0 +1,95 @@
+package gr.aueb.cf.springschoolapp.service.index;
+
+import gr.aueb.cf.springschoolapp.dto.autocompletedto.LastnameMatchDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * A thread-safe in-memory index of lastnames, ordered by the
+ * normalized lastname and then by id. A prefix search walks the
+ * sorted range of the prefix, so it costs O(log n + k) for the
+ * top k matches.
+ * <p>
+ * Lastnames are normalized to lowercase without accents, so
+ * "M\u00fcller" is found by the prefix "mu".
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class LastnamePrefixIndex {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, LastnameMatchDTO> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+
+    /**
+     * Adds or replaces the lastname of an id.
+     *
+     * @param id       the id of the student or teacher.
+     * @param lastname the current lastname.
+     */
+    public synchronized void put(Long id, String lastname) {
+        String key = normalize(lastname) + ID_SEPARATOR + String.format("%019d", id);
+        String previous = keysById.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            entries.remove(previous);
+        }
+        entries.put(key, new LastnameMatchDTO(id, lastname));
+    }
+
+    /**
+     * Removes an id from the index.
+     *
+     * @param id the id of the student or teacher.
+     */
+    public synchronized void remove(Long id) {
+        String key = keysById.remove(id);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Returns the first lastnames, in order, that start with the prefix.
+     *
+     * @param prefix the prefix typed by the client.
+     * @param limit  the maximum number of matches.
+     * @return a list with at most {@code limit} matches.
+     */
+    public List<LastnameMatchDTO> search(String prefix, int limit) {
+        String from = normalize(prefix);
+        NavigableMap<String, LastnameMatchDTO> range =
+                entries.subMap(from, true, from + Character.MAX_VALUE, false);
+
+        List<LastnameMatchDTO> matches = new ArrayList<>(Math.min(limit, 16));
+        for (LastnameMatchDTO match : range.values()) {
+            if (matches.size() == limit) {
+                break;
+            }
+            matches.add(match);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of indexed lastnames.
+     *
+     * @return the size of the index.
+     */
+    public int size() {
+        return keysById.size();
+    }
+
+    private static String normalize(String lastname) {
+        String decomposed = Normalizer.normalize(lastname.trim(), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,198 @@
+package gr.aueb.cf.springschoolapp.service.scheduling;
+
+/**
+ * An augmented AVL tree of half-open time intervals
+ * {@code [start, end)}, ordered by start and then by id.
+ * Every node keeps the maximum end of its subtree, so finding
+ * an interval that overlaps a given one costs O(log n).
+ * <p>
+ * This class is not thread-safe. {@link MeetingSchedule}
+ * guards every access to it.
+ *
+ * @author Thanasis Chousiadas
+ */
+final class IntervalTree {
+
+    private static final class Node {
+        private final long start;
+        private final long end;
+        private final long id;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    /**
+     * Inserts an interval in the tree.
+     *
+     * @param id    the id of the interval's owner.
+     * @param start the inclusive start in epoch millis.
+     * @param end   the exclusive end in epoch millis.
+     */
+    void insert(long id, long start, long end) {
+        root = insert(root, new Node(start, end, id));
+        size++;
+    }
+
+    /**
+     * Removes an interval from the tree.
+     *
+     * @param id    the id of the interval's owner.
+     * @param start the start the interval was inserted with.
+     */
+    void remove(long id, long start) {
+        int before = size;
+        root = remove(root, start, id);
+        if (size == before) {
+            throw new IllegalStateException("Interval of " + id + " is not in the tree");
+        }
+    }
+
+    /**
+     * Finds an interval that overlaps {@code [start, end)}.
+     *
+     * @param start the inclusive start in epoch millis.
+     * @param end   the exclusive end in epoch millis.
+     * @return the id of an overlapping interval, or null if there is none.
+     */
+    Long findOverlap(long start, long end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start < end && start < node.end) {
+                return node.id;
+            }
+            // if the left subtree reaches past start but holds no overlap,
+            // the right subtree starts even later and cannot hold one either
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int compare(long start, long id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
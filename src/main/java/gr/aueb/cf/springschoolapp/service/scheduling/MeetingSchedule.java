@@ -0,0 +1,280 @@
+package gr.aueb.cf.springschoolapp.service.scheduling;
+
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingSlotDTO;
+import gr.aueb.cf.springschoolapp.repository.IMeetingRepository;
+import gr.aueb.cf.springschoolapp.service.exception.MeetingConflictException;
+import gr.aueb.cf.springschoolapp.service.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * In-memory schedule of the meetings, used to detect double-bookings
+ * of teachers and meeting rooms. Every teacher and every room has its
+ * own {@link IntervalTree}, so a conflict check costs O(log n) in the
+ * number of meetings of the teacher or the room.
+ * <p>
+ * The schedule is loaded with the meetings that have not ended yet
+ * at startup. A reservation is visible to other requests as soon as it
+ * is made, so two concurrent transactions cannot book the same slot,
+ * and it is undone if its transaction rolls back. Meetings that have
+ * ended are dropped on every reservation, so the schedule holds only
+ * the meetings that can still conflict.
+ *
+ * @author Thanasis Chousiadas
+ */
+@Component
+@Slf4j
+public class MeetingSchedule {
+
+    private static final class Slot {
+        private final Long teacherId;
+        private final String room;
+        private final long start;
+        private final long end;
+
+        private Slot(Long teacherId, String room, long start, long end) {
+            this.teacherId = teacherId;
+            this.room = room;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final class Ending {
+        private final Long meetingId;
+        private final long end;
+
+        private Ending(Long meetingId, long end) {
+            this.meetingId = meetingId;
+            this.end = end;
+        }
+    }
+
+    private final IMeetingRepository meetingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long durationMillis;
+    private final Map<Long, IntervalTree> teachers = new HashMap<>();
+    private final Map<String, IntervalTree> rooms = new HashMap<>();
+    private final Map<Long, Slot> slots = new HashMap<>();
+    // may hold stale entries of moved or released slots, skipped when polled
+    private final PriorityQueue<Ending> endings =
+            new PriorityQueue<>(Comparator.comparingLong(ending -> ending.end));
+
+    @Autowired
+    public MeetingSchedule(
+            IMeetingRepository meetingRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.meetings.duration-minutes:60}") long durationMinutes) {
+        this.meetingRepository = meetingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.durationMillis = durationMinutes * 60_000L;
+    }
+
+    @PostConstruct
+    public void init() {
+        Date from = new Date(System.currentTimeMillis() - durationMillis);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<MeetingSlotDTO> rows = meetingRepository.streamSlotsFrom(from)) {
+                rows.forEach(row -> load(row.getId(), slotOf(row.getTeacherId(),
+                        row.getMeetingRoom(), row.getMeetingDatetime())));
+            }
+        });
+        log.info("Loaded meeting schedule with " + slots.size() + " meetings");
+    }
+
+    /**
+     * Books the teacher and the room of a meeting at the given time.
+     * If the meeting is already booked, its previous slot is released.
+     * The booking is undone if the current transaction rolls back.
+     * Meetings that have already ended are dropped first.
+     *
+     * @param meetingId       the id of the meeting.
+     * @param teacherId       the id of the meeting's teacher, or null.
+     * @param meetingRoom     the meeting room, or null.
+     * @param meetingDatetime the start of the meeting.
+     * @throws MeetingConflictException if the teacher or the room is already
+     *                                  booked by another meeting at that time.
+     */
+    public synchronized void reserve(Long meetingId, Long teacherId, String meetingRoom, Date meetingDatetime)
+            throws MeetingConflictException {
+        prune(System.currentTimeMillis());
+
+        Slot previous = slots.get(meetingId);
+        Slot slot = slotOf(teacherId, meetingRoom, meetingDatetime);
+
+        if (previous != null) {
+            unload(meetingId, previous);
+        }
+        try {
+            checkFree(slot);
+        } catch (MeetingConflictException e) {
+            if (previous != null) {
+                load(meetingId, previous);
+            }
+            throw e;
+        }
+        load(meetingId, slot);
+        onRollback(() -> restore(meetingId, slot, previous));
+    }
+
+    /**
+     * Releases the slot of a meeting. The release is undone if the
+     * current transaction rolls back.
+     *
+     * @param meetingId the id of the meeting.
+     */
+    public synchronized void release(Long meetingId) {
+        Slot previous = slots.get(meetingId);
+        if (previous == null) {
+            return;
+        }
+        unload(meetingId, previous);
+        onRollback(() -> restore(meetingId, null, previous));
+    }
+
+    /**
+     * Releases the teachers of the meetings of teachers deleted with a
+     * bulk statement, which bypasses the service's release, once the
+     * current transaction commits. The meetings keep their rooms.
+     *
+     * @param teacherIds the ids of the deleted teachers.
+     */
+    public void teachersRemoved(Collection<Long> teacherIds) {
+        Set<Long> removed = new HashSet<>(teacherIds);
+        TransactionCallbacks.afterCommit(() -> releaseTeachers(removed));
+    }
+
+    /**
+     * Returns the number of the booked meetings.
+     *
+     * @return the size of the schedule.
+     */
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    synchronized void prune(long now) {
+        while (!endings.isEmpty() && endings.peek().end <= now) {
+            Ending ending = endings.poll();
+            Slot slot = slots.get(ending.meetingId);
+            if (slot != null && slot.end <= now) {
+                unload(ending.meetingId, slot);
+            }
+        }
+    }
+
+    private synchronized void releaseTeachers(Set<Long> teacherIds) {
+        List<Long> meetingIds = new ArrayList<>();
+        for (Map.Entry<Long, Slot> entry : slots.entrySet()) {
+            if (entry.getValue().teacherId != null && teacherIds.contains(entry.getValue().teacherId)) {
+                meetingIds.add(entry.getKey());
+            }
+        }
+        for (Long meetingId : meetingIds) {
+            Slot slot = slots.get(meetingId);
+            unload(meetingId, slot);
+            if (slot.room != null) {
+                load(meetingId, new Slot(null, slot.room, slot.start, slot.end));
+            }
+        }
+    }
+
+    private void checkFree(Slot slot) throws MeetingConflictException {
+        if (slot.teacherId != null) {
+            IntervalTree tree = teachers.get(slot.teacherId);
+            Long conflict = tree == null ? null : tree.findOverlap(slot.start, slot.end);
+            if (conflict != null) {
+                throw new MeetingConflictException("Teacher with id " + slot.teacherId, conflict);
+            }
+        }
+        if (slot.room != null) {
+            IntervalTree tree = rooms.get(slot.room);
+            Long conflict = tree == null ? null : tree.findOverlap(slot.start, slot.end);
+            if (conflict != null) {
+                throw new MeetingConflictException("Meeting room " + slot.room, conflict);
+            }
+        }
+    }
+
+    private synchronized void restore(Long meetingId, Slot current, Slot previous) {
+        if (current != null && slots.get(meetingId) == current) {
+            unload(meetingId, current);
+        }
+        if (previous != null && !slots.containsKey(meetingId)) {
+            load(meetingId, previous);
+        }
+    }
+
+    private void load(Long meetingId, Slot slot) {
+        if (slot.teacherId != null) {
+            teachers.computeIfAbsent(slot.teacherId, id -> new IntervalTree())
+                    .insert(meetingId, slot.start, slot.end);
+        }
+        if (slot.room != null) {
+            rooms.computeIfAbsent(slot.room, room -> new IntervalTree())
+                    .insert(meetingId, slot.start, slot.end);
+        }
+        slots.put(meetingId, slot);
+        endings.add(new Ending(meetingId, slot.end));
+    }
+
+    private void unload(Long meetingId, Slot slot) {
+        if (slot.teacherId != null) {
+            IntervalTree tree = teachers.get(slot.teacherId);
+            tree.remove(meetingId, slot.start);
+            if (tree.isEmpty()) {
+                teachers.remove(slot.teacherId);
+            }
+        }
+        if (slot.room != null) {
+            IntervalTree tree = rooms.get(slot.room);
+            tree.remove(meetingId, slot.start);
+            if (tree.isEmpty()) {
+                rooms.remove(slot.room);
+            }
+        }
+        slots.remove(meetingId);
+    }
+
+    private Slot slotOf(Long teacherId, String meetingRoom, Date meetingDatetime) {
+        long start = meetingDatetime.getTime();
+        String room = meetingRoom == null || meetingRoom.trim().isEmpty()
+                ? null
+                : meetingRoom.trim().toLowerCase(Locale.ROOT);
+        return new Slot(teacherId, room, start, start + durationMillis);
+    }
+
+    private static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
@@ -5,27 +5,34 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.Date;
 
 /**
  * A utility class that formats a string date
- * object in {@link java.util.Date} or {@link java.sql.Date}
- * and vice-versa.
+ * object in {@link LocalDate}, {@link java.util.Date} or
+ * {@link java.sql.Date} and vice-versa.
+ * <p>
+ * Dates use one immutable, thread-safe {@link DateTimeFormatter};
+ * the date-times of the meetings still use a per-thread
+ * {@link SimpleDateFormat}.
  *
  * @author Thanasis Chousiadas
  */
 public class DateUtil {
-    private static final ThreadLocal<DateFormat> dateFormat = new ThreadLocal<>() {
-        @Override
-        public DateFormat get() {
-            return super.get();
-        }
+    /**
+     * Pattern of the dates (e.g. birthdates) on the API, for
+     * {@link DateTimeFormatter} and Jackson's {@code @JsonFormat}
+     * of the responses. Request bodies are parsed strictly by
+     * {@link StrictLocalDateDeserializer}.
+     */
+    public static final String DATE_PATTERN = "dd-MM-uuuu";
 
-        @Override
-        protected DateFormat initialValue() {
-            return new SimpleDateFormat("dd-MM-yyyy");
-        }
-    };
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern(DATE_PATTERN).withResolverStyle(ResolverStyle.STRICT);
+    private static final ThreadLocal<DateFormat> dateTimeFormat =
+            ThreadLocal.withInitial(() -> new SimpleDateFormat("dd-MM-yyyy HH:mm"));
 
     /**
      * No instances of this should be available.
@@ -34,55 +41,61 @@ public class DateUtil {
     }
 
     /**
-     * Formatter parse a date String to Date of
-     * java.util.Date class.
+     * Parses a date String, in format dd-MM-yyyy,
+     * to a {@link LocalDate}.
      *
      * @param dateStr date in String format.
-     * @return a Date object of java.util.Date class.
-     * @throws ParseException this exception is occurred when
-     *                        parsing an invalid date format
+     * @return a {@link LocalDate} object.
+     * @throws DateTimeParseException this exception is occurred when
+     *                                parsing an invalid date format
      */
-    public static Date toDate(String dateStr) throws ParseException {
-        return getDateFormat().parse(dateStr);
+    public static LocalDate toLocalDate(String dateStr) {
+        return LocalDate.parse(dateStr, DATE_FORMATTER);
     }
 
     /**
-     * Converts a java.util.Date object to java.sql.Date object.
+     * Formatter parse a date-time String, in format
+     * dd-MM-yyyy HH:mm, to Date of java.util.Date class.
      *
-     * @param date java.util.Date object.
-     * @return java.sql.Date object.
+     * @param dateTimeStr date-time in String format.
+     * @return a Date object of java.util.Date class.
+     * @throws ParseException this exception is occurred when
+     *                        parsing an invalid date-time format
      */
-    public static java.sql.Date toSQLDate(Date date) {
-        return new java.sql.Date(date.getTime());
+    public static Date toDateTime(String dateTimeStr) throws ParseException {
+        return dateTimeFormat.get().parse(dateTimeStr);
     }
 
     /**
-     * Converts to String a java.util.Date object.
+     * Converts to String, in format dd-MM-yyyy HH:mm,
+     * a java.util.Date object with a time part.
      *
-     * @param date the given date.
-     * @return a String with date.
+     * @param date the given date-time.
+     * @return a String with date and time.
      */
-    public static String toString(Date date) {
-        return getDateFormat().format(date);
+    public static String toDateTimeString(Date date) {
+        return dateTimeFormat.get().format(date);
     }
 
     /**
-     * Converts a java.sql.Date object to String.
+     * Converts a java.util.Date object to java.sql.Date object.
      *
-     * @param date the given java.sql.Date object.
-     * @return a String with date.
+     * @param date java.util.Date object.
+     * @return java.sql.Date object.
      */
-    public static String toString(java.sql.Date date) {
-        return getDateFormat().format(date);
+    public static java.sql.Date toSQLDate(Date date) {
+        return new java.sql.Date(date.getTime());
     }
 
     /**
-     * Returns a formatter.
+     * Converts to String, in format dd-MM-yyyy,
+     * a {@link LocalDate} object.
      *
-     * @return DateFormat formatter
+     * @param date the given date.
+     * @return a String with date.
      */
-    public static DateFormat getDateFormat() {
-        return dateFormat.get();
+    public static String toString(LocalDate date) {
+        return DATE_FORMATTER.format(date);
     }
 
     /**
@@ -92,9 +105,6 @@ public class DateUtil {
      * @return the date in {@link java.sql.Date} object.
      */
     public static java.sql.Date stringToSqlDate(String dateString) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-        LocalDate localDate = LocalDate.parse(dateString, formatter);
-
-        return java.sql.Date.valueOf(localDate);
+        return java.sql.Date.valueOf(toLocalDate(dateString));
     }
 }
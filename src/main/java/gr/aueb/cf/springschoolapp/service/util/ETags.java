@@ -0,0 +1,92 @@
+package gr.aueb.cf.springschoolapp.service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Helpers for the entity tags (ETags) of the API and the
+ * If-None-Match / If-Match request headers (RFC 7232).
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    /**
+     * No instances of this should be available.
+     */
+    private ETags() {
+    }
+
+    /**
+     * Builds the strong ETag of an entity from its version, the
+     * version of its user and a hash of the name of its city or
+     * speciality, since the username and that name are part of the
+     * representation and the name changes without the entity.
+     *
+     * @param version       the version of the entity.
+     * @param userVersion   the version of the user, or null if there is none.
+     * @param referenceName the name of the city or speciality, or null if there is none.
+     * @return the quoted ETag.
+     */
+    public static String of(long version, Long userVersion, String referenceName) {
+        StringBuilder etag = new StringBuilder("\"").append(version);
+        if (userVersion != null) {
+            etag.append('.').append(userVersion);
+        }
+        if (referenceName != null) {
+            CRC32 crc = new CRC32();
+            crc.update(referenceName.getBytes(StandardCharsets.UTF_8));
+            etag.append('-').append(String.format("%08x", crc.getValue()));
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Checks an If-None-Match header. Weak validators match too,
+     * as the weak comparison is used for If-None-Match.
+     *
+     * @param ifNoneMatch the header value, or null.
+     * @param etag        the current ETag.
+     * @return true if the client already has the current representation.
+     */
+    public static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith(WEAK_PREFIX)) {
+                candidate = candidate.substring(WEAK_PREFIX.length());
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks an If-Match header. Only the strong comparison is used,
+     * so a weak validator never matches.
+     *
+     * @param ifMatch the header value, or null when the request is unconditional.
+     * @param etag    the current ETag.
+     * @return true if the request may proceed.
+     */
+    public static boolean ifMatchHolds(String ifMatch, String etag) {
+        if (ifMatch == null) {
+            return true;
+        }
+
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
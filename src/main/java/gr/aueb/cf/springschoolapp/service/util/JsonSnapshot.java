@@ -0,0 +1,142 @@
+package gr.aueb.cf.springschoolapp.service.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An immutable, serialized JSON document, kept together with its
+ * gzip-compressed bytes and a strong ETag computed from the content.
+ * The compressed bytes are another representation, so they have
+ * their own ETag, the same hash with a {@code -gzip} suffix.
+ * Responses are served from these bytes without running Jackson again.
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class JsonSnapshot {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private final byte[] json;
+    private final byte[] gzipped;
+    private final String etag;
+    private final String gzipEtag;
+    private final int size;
+    private final long createdAtNanos;
+
+    private JsonSnapshot(byte[] json, byte[] gzipped, String etag, int size) {
+        this.json = json;
+        this.gzipped = gzipped;
+        this.etag = etag;
+        this.gzipEtag = etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + '"';
+        this.size = size;
+        this.createdAtNanos = System.nanoTime();
+    }
+
+    /**
+     * Creates a snapshot of a serialized JSON collection.
+     *
+     * @param json the JSON bytes (UTF-8).
+     * @param size the number of elements of the collection.
+     * @return a {@link JsonSnapshot}.
+     */
+    public static JsonSnapshot of(byte[] json, int size) {
+        return new JsonSnapshot(json, gzip(json), etag(json), size);
+    }
+
+    /**
+     * The JSON bytes. The array must not be modified.
+     *
+     * @return the uncompressed JSON document.
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * The gzip-compressed JSON bytes. The array must not be modified.
+     *
+     * @return the compressed JSON document.
+     */
+    public byte[] getGzipped() {
+        return gzipped;
+    }
+
+    /**
+     * The strong ETag of the document, quoted.
+     *
+     * @return the ETag.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * The strong ETag of the gzip-compressed document, quoted.
+     *
+     * @return the ETag of the compressed bytes.
+     */
+    public String getGzipEtag() {
+        return gzipEtag;
+    }
+
+    /**
+     * The number of elements of the serialized collection.
+     *
+     * @return the size of the collection.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Whether the snapshot was created more than the given time ago.
+     *
+     * @param ttl the time to live.
+     * @return true if the snapshot has expired.
+     */
+    public boolean isOlderThan(Duration ttl) {
+        return System.nanoTime() - createdAtNanos > ttl.toNanos();
+    }
+
+    /**
+     * Checks the value of an If-None-Match header against the ETags
+     * of both representations, as a client may hold either one.
+     * As RFC 7232 defines for If-None-Match, weak validators match too.
+     *
+     * @param ifNoneMatch the header value, or null.
+     * @return true if the client already has this snapshot.
+     */
+    public boolean matches(String ifNoneMatch) {
+        return ETags.notModified(ifNoneMatch, etag) || ETags.notModified(ifNoneMatch, gzipEtag);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder sb = new StringBuilder(34).append('"');
+            // the first 128 bits are enough to tell two versions apart
+            for (int i = 0; i < 16; i++) {
+                sb.append(HEX[(digest[i] >> 4) & 0xF]).append(HEX[digest[i] & 0xF]);
+            }
+            return sb.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package gr.aueb.cf.springschoolapp.service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The position of the last row of a page in keyset (seek)
+ * pagination. It consists of the value of the sort key and
+ * the id of the row, which breaks ties between equal keys.
+ * Clients receive it as an opaque URL-safe token.
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class KeysetCursor {
+    private static final char SEPARATOR = ':';
+
+    private final String key;
+    private final Long id;
+
+    /**
+     * Overloaded constructor.
+     *
+     * @param key the value of the sort key of the last row.
+     * @param id  the id of the last row.
+     */
+    public KeysetCursor(String key, Long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     *
+     * @param token the opaque token given by the client.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static KeysetCursor decode(String token) {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = decoded.indexOf(SEPARATOR);
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new KeysetCursor(decoded.substring(separator + 1), Long.valueOf(decoded.substring(0, separator)));
+    }
+
+    /**
+     * Encodes this cursor to an opaque URL-safe token.
+     *
+     * @return the token.
+     */
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Getter for the value of the sort key.
+     *
+     * @return the sort key.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Getter for the id of the last row.
+     *
+     * @return the id.
+     */
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,109 @@
+package gr.aueb.cf.springschoolapp.service.util;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helpers for reading a JSON Merge Patch (RFC 7396) document,
+ * as bound by Jackson to a {@link Map}. A member that is absent
+ * leaves the field unchanged and a member with a null value
+ * clears it.
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class MergePatch {
+
+    /**
+     * The media type of JSON Merge Patch documents.
+     */
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    /**
+     * No instances of this should be available.
+     */
+    private MergePatch() {
+    }
+
+    /**
+     * Checks that the patch only contains fields that may be patched.
+     *
+     * @param patch   the merge patch document.
+     * @param allowed the names of the patchable fields.
+     * @throws IllegalArgumentException if the patch contains any other field.
+     */
+    public static void requireOnly(Map<String, Object> patch, Set<String> allowed) {
+        for (String field : patch.keySet()) {
+            if (!allowed.contains(field)) {
+                throw new IllegalArgumentException("Field '" + field + "' cannot be patched");
+            }
+        }
+    }
+
+    /**
+     * Checks that the patch does not clear any of the given fields,
+     * i.e. that none of them is present with a null value.
+     *
+     * @param patch    the merge patch document.
+     * @param required the names of the fields that cannot be cleared.
+     * @throws IllegalArgumentException if any of them is null.
+     */
+    public static void requireNonNull(Map<String, Object> patch, Set<String> required) {
+        for (String field : required) {
+            if (patch.containsKey(field) && patch.get(field) == null) {
+                throw new IllegalArgumentException("Field '" + field + "' cannot be null");
+            }
+        }
+    }
+
+    /**
+     * Returns the value of a string member of the patch.
+     *
+     * @param patch the merge patch document.
+     * @param field the name of the member.
+     * @return the string value, or null if the member is null.
+     * @throws IllegalArgumentException if the value is not a string.
+     */
+    public static String string(Map<String, Object> patch, String field) {
+        Object value = patch.get(field);
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException("Field '" + field + "' must be a string");
+        }
+        return (String) value;
+    }
+
+    /**
+     * Returns the value of a required string member of the patch
+     * and checks its length.
+     *
+     * @param patch the merge patch document.
+     * @param field the name of the member.
+     * @param min   the minimum length.
+     * @param max   the maximum length.
+     * @return the string value.
+     * @throws IllegalArgumentException if the value is null, not a string
+     *                                  or out of bounds.
+     */
+    public static String string(Map<String, Object> patch, String field, int min, int max) {
+        String value = string(patch, field);
+        if (value == null || value.trim().length() < min || value.length() > max) {
+            throw new IllegalArgumentException("Field '" + field + "' must have "
+                    + min + " to " + max + " characters");
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value of a nullable string member of the patch
+     * and checks its length if it is not null.
+     *
+     * @param patch the merge patch document.
+     * @param field the name of the member.
+     * @param min   the minimum length.
+     * @param max   the maximum length.
+     * @return the string value, or null if the member is null.
+     * @throws IllegalArgumentException if the value is not a string or out of bounds.
+     */
+    public static String optionalString(Map<String, Object> patch, String field, int min, int max) {
+        return patch.get(field) == null ? null : string(patch, field, min, max);
+    }
+}
@@ -0,0 +1,78 @@
+package gr.aueb.cf.springschoolapp.service.util;
+
+import gr.aueb.cf.springschoolapp.dto.pagedto.MultiGetDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A utility class that puts the rows of an {@code IN} query
+ * back in the order of the requested ids.
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class MultiGet {
+
+    /**
+     * No instances of this should be available.
+     */
+    private MultiGet() {
+    }
+
+    /**
+     * Removes the duplicates of the requested ids and checks their number.
+     *
+     * @param ids    the requested ids.
+     * @param maxIds the maximum number of distinct ids.
+     * @return the distinct ids, in request order.
+     * @throws IllegalArgumentException if there are no ids or too many ids.
+     */
+    public static Set<Long> distinct(Collection<Long> ids, int maxIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        // empty members of the list (ids=1,,2) are bound to null
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            // an empty IN () is a syntax error on MySQL
+            throw new IllegalArgumentException("At least one id must be requested");
+        }
+        if (distinctIds.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " ids can be requested at once");
+        }
+        return distinctIds;
+    }
+
+    /**
+     * Orders the rows as the requested ids and reports the ids
+     * without a row.
+     *
+     * @param ids   the distinct requested ids, in request order.
+     * @param rows  the rows returned by the query, in any order.
+     * @param getId the function that returns the id of a row.
+     * @param <T>   the type of the rows.
+     * @return the ordered rows and the missing ids.
+     */
+    public static <T> MultiGetDTO<T> ordered(Set<Long> ids, List<T> rows, Function<T, Long> getId) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T row : rows) {
+            byId.put(getId.apply(row), row);
+        }
+
+        List<T> content = new ArrayList<>(rows.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row == null) {
+                missing.add(id);
+            } else {
+                content.add(row);
+            }
+        }
+        return new MultiGetDTO<>(content, missing);
+    }
+}
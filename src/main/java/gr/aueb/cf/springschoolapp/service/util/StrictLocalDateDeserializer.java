@@ -0,0 +1,44 @@
+package gr.aueb.cf.springschoolapp.service.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Jackson deserializer of the dates of the request bodies, in
+ * format dd-MM-yyyy. It parses with {@link DateUtil}, whose formatter
+ * is strict, so an impossible date such as 31-02-2004 is rejected
+ * instead of being adjusted to the end of the month as
+ * {@code @JsonFormat} does.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class StrictLocalDateDeserializer extends StdScalarDeserializer<LocalDate> {
+    private static final long serialVersionUID = 100L;
+
+    public StrictLocalDateDeserializer() {
+        super(LocalDate.class);
+    }
+
+    @Override
+    public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+            return (LocalDate) context.handleUnexpectedToken(LocalDate.class, parser);
+        }
+        String text = parser.getText().trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return DateUtil.toLocalDate(text);
+        } catch (DateTimeParseException e) {
+            return (LocalDate) context.handleWeirdStringValue(LocalDate.class, text,
+                    "Expected a valid date in format dd-MM-yyyy");
+        }
+    }
+}
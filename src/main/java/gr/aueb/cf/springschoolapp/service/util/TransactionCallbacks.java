@@ -0,0 +1,39 @@
+package gr.aueb.cf.springschoolapp.service.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A utility class that defers the updates of in-memory
+ * state until the current transaction commits, so a
+ * rollback leaves that state untouched.
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class TransactionCallbacks {
+
+    /**
+     * No instances of this should be available.
+     */
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Runs the action after the current transaction commits,
+     * or immediately if there is no transaction.
+     *
+     * @param action the action to run.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
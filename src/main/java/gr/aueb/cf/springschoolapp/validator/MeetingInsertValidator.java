@@ -0,0 +1,21 @@
+package gr.aueb.cf.springschoolapp.validator;
+
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingInsertDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+
+@Component
+public class MeetingInsertValidator extends MeetingValidator {
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return MeetingInsertDTO.class == clazz;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        MeetingInsertDTO insertDTO = (MeetingInsertDTO) target;
+
+        validateMeeting(insertDTO.getTeacherId(), insertDTO.getMeetingRoom(), insertDTO.getMeetingDate(), errors);
+    }
+}
@@ -0,0 +1,21 @@
+package gr.aueb.cf.springschoolapp.validator;
+
+import gr.aueb.cf.springschoolapp.dto.meetingdto.MeetingUpdateDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+
+@Component
+public class MeetingUpdateValidator extends MeetingValidator {
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return MeetingUpdateDTO.class == clazz;
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        MeetingUpdateDTO updateDTO = (MeetingUpdateDTO) target;
+
+        validateMeeting(updateDTO.getTeacherId(), updateDTO.getMeetingRoom(), updateDTO.getMeetingDate(), errors);
+    }
+}
@@ -0,0 +1,36 @@
+package gr.aueb.cf.springschoolapp.validator;
+
+import gr.aueb.cf.springschoolapp.service.util.DateUtil;
+import org.springframework.validation.Errors;
+import org.springframework.validation.ValidationUtils;
+import org.springframework.validation.Validator;
+
+import java.text.ParseException;
+
+/**
+ * Checks shared by the validators of the meeting insert and update
+ * DTOs: a meeting needs a teacher or a room, and a well-formed date.
+ *
+ * @author Thanasis Chousiadas
+ */
+abstract class MeetingValidator implements Validator {
+
+    protected void validateMeeting(Long teacherId, String meetingRoom, String meetingDate, Errors errors) {
+        if (teacherId == null && meetingRoom == null) {
+            errors.reject("empty");
+        }
+
+        if (meetingRoom != null && meetingRoom.length() > 45) {
+            errors.rejectValue("meetingRoom", "size");
+        }
+
+        ValidationUtils.rejectIfEmptyOrWhitespace(errors, "meetingDate", "empty");
+        if (meetingDate != null) {
+            try {
+                DateUtil.toDateTime(meetingDate);
+            } catch (ParseException e) {
+                errors.rejectValue("meetingDate", "format");
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+-- Moves the primary keys from AUTO_INCREMENT to pooled sequence tables.
+-- MySQL has no sequences, so Hibernate emulates each one with a single-row
+-- table. Every node reserves blocks of 50 ids from it, which lets Hibernate
+-- batch INSERT statements instead of executing each one immediately.
+--
+-- Run once on an existing database, before the first start of the new
+-- version. The pooled optimizer hands out ids in (next_val - 50, next_val],
+-- hence the seed is MAX(ID) + 50.
+
+CREATE TABLE IF NOT EXISTS CITIES_SEQ (next_val BIGINT);
+DELETE FROM CITIES_SEQ;
+INSERT INTO CITIES_SEQ SELECT COALESCE(MAX(ID), 0) + 50 FROM CITIES;
+
+CREATE TABLE IF NOT EXISTS SPECIALITIES_SEQ (next_val BIGINT);
+DELETE FROM SPECIALITIES_SEQ;
+INSERT INTO SPECIALITIES_SEQ SELECT COALESCE(MAX(ID), 0) + 50 FROM SPECIALITIES;
+
+CREATE TABLE IF NOT EXISTS USERS_SEQ (next_val BIGINT);
+DELETE FROM USERS_SEQ;
+INSERT INTO USERS_SEQ SELECT COALESCE(MAX(ID), 0) + 50 FROM USERS;
+
+CREATE TABLE IF NOT EXISTS STUDENTS_SEQ (next_val BIGINT);
+DELETE FROM STUDENTS_SEQ;
+INSERT INTO STUDENTS_SEQ SELECT COALESCE(MAX(ID), 0) + 50 FROM STUDENTS;
+
+CREATE TABLE IF NOT EXISTS TEACHERS_SEQ (next_val BIGINT);
+DELETE FROM TEACHERS_SEQ;
+INSERT INTO TEACHERS_SEQ SELECT COALESCE(MAX(ID), 0) + 50 FROM TEACHERS;
+
+CREATE TABLE IF NOT EXISTS MEETINGS_SEQ (next_val BIGINT);
+DELETE FROM MEETINGS_SEQ;
+INSERT INTO MEETINGS_SEQ SELECT COALESCE(MAX(ID), 0) + 50 FROM MEETINGS;
@@ -0,0 +1,9 @@
+-- Composite indexes for the calendar range queries of IMeetingRepository.
+-- "Meetings of teacher X between t1 and t2" and "bookings of room R on day D"
+-- become index range scans, and the keyset pages read them in index order
+-- (InnoDB appends the primary key to every secondary index).
+--
+-- Run once on an existing database.
+
+CREATE INDEX IDX_MEETINGS_TEACHER_ID_DATETIME ON MEETINGS (TEACHER_ID, MEETING_DATETIME);
+CREATE INDEX IDX_MEETINGS_ROOM_DATETIME ON MEETINGS (MEETING_ROOM, MEETING_DATETIME);
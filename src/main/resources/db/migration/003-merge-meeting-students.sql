@@ -0,0 +1,21 @@
+-- Consolidates the student-meeting enrolments onto STUDENTS_MEETINGS.
+-- Student.meetings is now the only owning side of the relation and
+-- Meeting.students is mapped by it, so MEETINGS_STUDENTS is no longer
+-- written. Rows that exist in either table are kept once, and the
+-- composite primary key that Hibernate expects for a Set is added.
+--
+-- Run once on an existing database, before the first start of the new
+-- version.
+
+CREATE TABLE STUDENTS_MEETINGS_MERGED AS
+    SELECT STUDENT_ID, MEETING_ID FROM STUDENTS_MEETINGS
+    UNION
+    SELECT STUDENT_ID, MEETING_ID FROM MEETINGS_STUDENTS;
+
+DELETE FROM STUDENTS_MEETINGS;
+INSERT INTO STUDENTS_MEETINGS (STUDENT_ID, MEETING_ID)
+    SELECT STUDENT_ID, MEETING_ID FROM STUDENTS_MEETINGS_MERGED;
+DROP TABLE STUDENTS_MEETINGS_MERGED;
+
+ALTER TABLE STUDENTS_MEETINGS ADD PRIMARY KEY (STUDENT_ID, MEETING_ID);
+DROP TABLE MEETINGS_STUDENTS;
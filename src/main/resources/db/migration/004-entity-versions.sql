@@ -0,0 +1,11 @@
+-- Adds the optimistic locking version of Student, Teacher and User.
+-- Hibernate increments VERSION on every update; the REST API exposes
+-- it as the ETag of a student or teacher (together with the version
+-- of the user). Existing rows start at version 0.
+--
+-- Run once on an existing database, before the first start of the new
+-- version.
+
+ALTER TABLE STUDENTS ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE TEACHERS ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE USERS ADD COLUMN VERSION BIGINT NOT NULL DEFAULT 0;
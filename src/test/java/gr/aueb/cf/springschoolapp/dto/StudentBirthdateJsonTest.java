@@ -0,0 +1,43 @@
+package gr.aueb.cf.springschoolapp.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentInsertDTO;
+import gr.aueb.cf.springschoolapp.dto.studentdto.StudentUpdateDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The birthdates of the request bodies are parsed strictly:
+ * impossible dates are rejected, not adjusted.
+ *
+ * @author Thanasis Chousiadas
+ */
+class StudentBirthdateJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void validBirthdate() throws Exception {
+        StudentInsertDTO dto = objectMapper.readValue("{\"birthdate\": \"29-02-2004\"}", StudentInsertDTO.class);
+        assertEquals(LocalDate.of(2004, 2, 29), dto.getBirthdate());
+    }
+
+    @Test
+    void impossibleBirthdate() {
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"birthdate\": \"31-02-2004\"}", StudentInsertDTO.class));
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"birthdate\": \"29-02-2005\"}", StudentUpdateDTO.class));
+    }
+
+    @Test
+    void wrongFormatBirthdate() {
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"birthdate\": \"2004-02-01\"}", StudentInsertDTO.class));
+    }
+}
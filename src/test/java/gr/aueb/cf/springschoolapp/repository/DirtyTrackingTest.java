@@ -0,0 +1,80 @@
+package gr.aueb.cf.springschoolapp.repository;
+
+import gr.aueb.cf.springschoolapp.model.Student;
+import gr.aueb.cf.springschoolapp.model.Teacher;
+import gr.aueb.cf.springschoolapp.model.User;
+import gr.aueb.cf.springschoolapp.querybudget.SchoolFixtures;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the entities are enhanced at build time and that a
+ * flush writes only what was changed through the in-line dirty
+ * tracking, instead of comparing every loaded entity with its snapshot.
+ * The write counts hold on the build without enhancement as well
+ * ({@code -PnoEnhance}), where the enhancement checks are skipped.
+ *
+ * @author Thanasis Chousiadas
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DirtyTrackingTest {
+
+    private static final int TEACHERS = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ITeacherRepository teacherRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SchoolFixtures.teachers(entityManager.getEntityManager(), TEACHERS);
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void entitiesAreEnhanced() {
+        assumeTrue(Boolean.getBoolean("hibernate.enhanced"));
+
+        assertTrue(new Student() instanceof SelfDirtinessTracker);
+        assertTrue(new Teacher() instanceof SelfDirtinessTracker);
+        assertTrue(new User() instanceof PersistentAttributeInterceptable);
+    }
+
+    @Test
+    void flushWritesOnlyTheChangedTeacher() {
+        List<Teacher> teachers = teacherRepository.findAll();
+        Teacher teacher = teachers.get(0);
+        teacher.setLastname("Changed");
+
+        if (teacher instanceof SelfDirtinessTracker) {
+            assertArrayEquals(new String[] {"lastname"}, ((SelfDirtinessTracker) teacher).$$_hibernate_getDirtyAttributes());
+        }
+
+        statistics.clear();
+        entityManager.flush();
+
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
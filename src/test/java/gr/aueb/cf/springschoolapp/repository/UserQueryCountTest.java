@@ -0,0 +1,75 @@
+package gr.aueb.cf.springschoolapp.repository;
+
+import gr.aueb.cf.springschoolapp.model.Student;
+import gr.aueb.cf.springschoolapp.model.Teacher;
+import gr.aueb.cf.springschoolapp.model.User;
+import gr.aueb.cf.springschoolapp.querybudget.QueryBudget;
+import gr.aueb.cf.springschoolapp.querybudget.SchoolFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Checks that loading users, teachers and students costs one
+ * query, whatever the number of rows. The fixtures spread the rows
+ * over several specialities and cities, so a select per row or per
+ * distinct reference through the eager to-one associations goes
+ * over the budget.
+ *
+ * @author Thanasis Chousiadas
+ */
+@DataJpaTest
+class UserQueryCountTest {
+
+    private static final int TEACHERS = 10;
+    private static final int STUDENTS = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private ITeacherRepository teacherRepository;
+
+    @Autowired
+    private IStudentRepository studentRepository;
+
+    @BeforeEach
+    void setUp() {
+        SchoolFixtures.teachers(entityManager.getEntityManager(), TEACHERS);
+        SchoolFixtures.students(entityManager.getEntityManager(), STUDENTS);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void loadingUserByUsernameIsOneQuery() {
+        User user = userRepository.findUserByUsernameEquals("teacher0");
+
+        assertNotNull(user);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void loadingTeachersIsOneQuery() {
+        List<Teacher> teachers = teacherRepository.findAll();
+
+        assertEquals(TEACHERS, teachers.size());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void loadingStudentsIsOneQuery() {
+        List<Student> students = studentRepository.findAll();
+
+        assertEquals(STUDENTS, students.size());
+    }
+}
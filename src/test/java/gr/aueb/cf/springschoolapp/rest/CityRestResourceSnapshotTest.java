@@ -0,0 +1,102 @@
+package gr.aueb.cf.springschoolapp.rest;
+
+import gr.aueb.cf.springschoolapp.querybudget.QueryBudget;
+import gr.aueb.cf.springschoolapp.querybudget.SchoolFixtures;
+import gr.aueb.cf.springschoolapp.service.ReferenceDataSnapshots;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.transaction.BeforeTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The list of cities is served from its pre-serialized snapshot:
+ * once built, neither a full nor a conditional GET touches the
+ * database. The gzipped list is a representation of its own,
+ * with its own ETag.
+ *
+ * @author Thanasis Chousiadas
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Transactional
+class CityRestResourceSnapshotTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReferenceDataSnapshots referenceDataSnapshots;
+
+    private String etag;
+
+    @BeforeTransaction
+    void dropSnapshot() {
+        referenceDataSnapshots.invalidateCities();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SchoolFixtures.students(entityManager, 1);
+        etag = mockMvc.perform(get("/api/cities"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    @QueryBudget(0)
+    void getAllCities() throws Exception {
+        mockMvc.perform(get("/api/cities"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$[0].cityName").value("Athens"));
+    }
+
+    @Test
+    @QueryBudget(0)
+    void getAllCitiesNotModified() throws Exception {
+        mockMvc.perform(get("/api/cities").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @QueryBudget(0)
+    void getAllCitiesGzipped() throws Exception {
+        mockMvc.perform(get("/api/cities").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, gzipEtag()));
+    }
+
+    @Test
+    @QueryBudget(0)
+    void getAllCitiesGzippedNotModified() throws Exception {
+        mockMvc.perform(get("/api/cities")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, gzipEtag()));
+    }
+
+    private String gzipEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+}
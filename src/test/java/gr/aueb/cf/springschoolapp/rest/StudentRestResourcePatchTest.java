@@ -0,0 +1,69 @@
+package gr.aueb.cf.springschoolapp.rest;
+
+import gr.aueb.cf.springschoolapp.querybudget.SchoolFixtures;
+import gr.aueb.cf.springschoolapp.service.util.MergePatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Merge patches of a student: members that are required
+ * cannot be cleared with null.
+ *
+ * @author Thanasis Chousiadas
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Transactional
+class StudentRestResourcePatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = SchoolFixtures.students(entityManager, 1).get(0);
+    }
+
+    @Test
+    void patchStudent() throws Exception {
+        mockMvc.perform(patch("/api/students/{id}", id)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"firstname\": null, \"birthdate\": \"28-02-2004\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.birthdate").value("28-02-2004"));
+    }
+
+    @Test
+    void patchStudentClearingCity() throws Exception {
+        mockMvc.perform(patch("/api/students/{id}", id)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"city\": null}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchStudentClearingGender() throws Exception {
+        mockMvc.perform(patch("/api/students/{id}", id)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"gender\": null}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,98 @@
+package gr.aueb.cf.springschoolapp.rest;
+
+import gr.aueb.cf.springschoolapp.querybudget.QueryBudget;
+import gr.aueb.cf.springschoolapp.querybudget.SchoolFixtures;
+import gr.aueb.cf.springschoolapp.service.util.ETags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the student read endpoints, against an
+ * embedded database with {@value #STUDENTS} students. A budget
+ * that does not depend on the number of rows fails on N+1 selects.
+ *
+ * @author Thanasis Chousiadas
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Transactional
+class StudentRestResourceQueryBudgetTest {
+
+    private static final int STUDENTS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        ids = SchoolFixtures.students(entityManager, STUDENTS);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void getStudentsByLastname() throws Exception {
+        mockMvc.perform(get("/api/students").param("lastname", "Last"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(STUDENTS));
+    }
+
+    @Test
+    @QueryBudget(1)
+    void searchStudentsByLastname() throws Exception {
+        mockMvc.perform(get("/api/students/search").param("lastname", "Last").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5));
+    }
+
+    @Test
+    @QueryBudget(1)
+    void getStudentsByIds() throws Exception {
+        mockMvc.perform(get("/api/students").param("ids", ids.get(0) + "," + ids.get(1) + "," + ids.get(2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3));
+    }
+
+    @Test
+    @QueryBudget(1)
+    void getStudent() throws Exception {
+        mockMvc.perform(get("/api/students/{id}", ids.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.city").value("Athens"));
+    }
+
+    @Test
+    @QueryBudget(1)
+    void getStudentNotModified() throws Exception {
+        mockMvc.perform(get("/api/students/{id}", ids.get(0)).header(HttpHeaders.IF_NONE_MATCH, ETags.of(0, 0L, "Athens")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(0, 0L, "Athens")));
+    }
+
+    @Test
+    @QueryBudget(0)
+    void autocompleteStudentLastname() throws Exception {
+        mockMvc.perform(get("/api/students/autocomplete").param("prefix", "Last"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,93 @@
+package gr.aueb.cf.springschoolapp.rest;
+
+import gr.aueb.cf.springschoolapp.querybudget.SchoolFixtures;
+import gr.aueb.cf.springschoolapp.service.util.ETags;
+import gr.aueb.cf.springschoolapp.service.util.MergePatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional requests on a teacher: the ETag follows the version
+ * of the teacher and its user and the name of its speciality, and a
+ * PATCH with a stale If-Match is rejected instead of overwriting a
+ * newer version.
+ *
+ * @author Thanasis Chousiadas
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Transactional
+class TeacherRestResourceConditionalTest {
+
+    private static final String PATCH = "{\"firstname\": \"Patched\"}";
+    private static final String ETAG = ETags.of(0, 0L, "Mathematics");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = SchoolFixtures.teachers(entityManager, 1).get(0);
+    }
+
+    @Test
+    void getTeacherHasEtag() throws Exception {
+        mockMvc.perform(get("/api/teachers/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    void patchTeacherIncrementsVersion() throws Exception {
+        mockMvc.perform(patch("/api/teachers/{id}", id)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .header(HttpHeaders.IF_MATCH, ETAG)
+                        .content(PATCH))
+                .andExpect(status().isOk());
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/teachers/{id}", id).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(1, 0L, "Mathematics")));
+    }
+
+    @Test
+    void renamingSpecialityChangesEtag() throws Exception {
+        entityManager.createQuery("UPDATE Speciality S SET S.specialityName = 'Algebra' " +
+                "WHERE S.specialityName = 'Mathematics'").executeUpdate();
+
+        mockMvc.perform(get("/api/teachers/{id}", id).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(0, 0L, "Algebra")));
+    }
+
+    @Test
+    void patchTeacherWithStaleEtag() throws Exception {
+        mockMvc.perform(patch("/api/teachers/{id}", id)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .header(HttpHeaders.IF_MATCH, "\"7.0\"")
+                        .content(PATCH))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
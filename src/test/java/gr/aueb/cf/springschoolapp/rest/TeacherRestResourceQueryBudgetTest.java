@@ -0,0 +1,97 @@
+package gr.aueb.cf.springschoolapp.rest;
+
+import gr.aueb.cf.springschoolapp.querybudget.QueryBudget;
+import gr.aueb.cf.springschoolapp.querybudget.SchoolFixtures;
+import gr.aueb.cf.springschoolapp.service.util.ETags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the teacher read endpoints, against an
+ * embedded database with {@value #TEACHERS} teachers. A budget
+ * that does not depend on the number of rows fails on N+1 selects.
+ *
+ * @author Thanasis Chousiadas
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Transactional
+class TeacherRestResourceQueryBudgetTest {
+
+    private static final int TEACHERS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        ids = SchoolFixtures.teachers(entityManager, TEACHERS);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void getTeachersByLastname() throws Exception {
+        mockMvc.perform(get("/api/teachers").param("lastname", "Last"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(TEACHERS));
+    }
+
+    @Test
+    @QueryBudget(1)
+    void getTeachersByIds() throws Exception {
+        mockMvc.perform(get("/api/teachers").param("ids", ids.get(0) + "," + ids.get(1) + "," + ids.get(2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3));
+    }
+
+    @Test
+    @QueryBudget(0)
+    void getTeachersByNoIds() throws Exception {
+        mockMvc.perform(get("/api/teachers").param("ids", ""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void getTeacher() throws Exception {
+        mockMvc.perform(get("/api/teachers/{id}", ids.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.specialityName").value("Mathematics"));
+    }
+
+    @Test
+    @QueryBudget(1)
+    void getTeacherNotModified() throws Exception {
+        mockMvc.perform(get("/api/teachers/{id}", ids.get(0)).header(HttpHeaders.IF_NONE_MATCH, ETags.of(0, 0L, "Mathematics")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(0, 0L, "Mathematics")));
+    }
+
+    @Test
+    @QueryBudget(0)
+    void autocompleteTeacherLastname() throws Exception {
+        mockMvc.perform(get("/api/teachers/autocomplete").param("prefix", "Last"))
+                .andExpect(status().isOk());
+    }
+}
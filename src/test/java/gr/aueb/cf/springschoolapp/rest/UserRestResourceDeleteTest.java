@@ -0,0 +1,70 @@
+package gr.aueb.cf.springschoolapp.rest;
+
+import gr.aueb.cf.springschoolapp.model.Teacher;
+import gr.aueb.cf.springschoolapp.model.User;
+import gr.aueb.cf.springschoolapp.querybudget.SchoolFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Deleting a user that owns a teacher removes both and answers
+ * with the deleted user, although its row is gone by then.
+ *
+ * @author Thanasis Chousiadas
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Transactional
+class UserRestResourceDeleteTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long teacherId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        teacherId = SchoolFixtures.teachers(entityManager, 1).get(0);
+        userId = entityManager
+                .createQuery("SELECT T.user.id FROM Teacher T WHERE T.id = :id", Long.class)
+                .setParameter("id", teacherId)
+                .getSingleResult();
+    }
+
+    @Test
+    void deleteUserOfTeacher() throws Exception {
+        mockMvc.perform(delete("/api/users/{id}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(userId))
+                .andExpect(jsonPath("$.username").value("teacher0"));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNull(entityManager.find(Teacher.class, teacherId));
+        assertNull(entityManager.find(User.class, userId));
+    }
+
+    @Test
+    void deleteMissingUser() throws Exception {
+        mockMvc.perform(delete("/api/users/{id}", userId + 1))
+                .andExpect(status().isBadRequest());
+    }
+}
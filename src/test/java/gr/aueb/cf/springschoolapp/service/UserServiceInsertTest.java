@@ -0,0 +1,52 @@
+package gr.aueb.cf.springschoolapp.service;
+
+import gr.aueb.cf.springschoolapp.dto.userdto.UserRegisterDTO;
+import gr.aueb.cf.springschoolapp.model.User;
+import gr.aueb.cf.springschoolapp.service.exception.EntityAlreadyExistsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A username taken without passing through the Bloom filter of
+ * this node (e.g. on another node) is still reported as taken
+ * when a user is inserted, by the unique constraint.
+ *
+ * @author Thanasis Chousiadas
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Transactional
+class UserServiceInsertTest {
+
+    private static final String USERNAME = "othernode";
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private IUsernameAvailabilityService usernameAvailabilityService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void insertUserTakenOnAnotherNode() {
+        User user = new User();
+        user.setUsername(USERNAME);
+        user.setPassword("password");
+        entityManager.persist(user);
+        entityManager.flush();
+        assertTrue(usernameAvailabilityService.isAvailable(USERNAME));
+
+        UserRegisterDTO dto = new UserRegisterDTO(null, USERNAME, "password", "password");
+        assertThrows(EntityAlreadyExistsException.class, () -> userService.insertUser(dto));
+    }
+}
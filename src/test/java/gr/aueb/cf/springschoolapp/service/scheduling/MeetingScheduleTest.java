@@ -0,0 +1,65 @@
+package gr.aueb.cf.springschoolapp.service.scheduling;
+
+import gr.aueb.cf.springschoolapp.service.exception.MeetingConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that ended meetings and the meetings of teachers removed in
+ * bulk do not stay booked in the schedule.
+ *
+ * @author Thanasis Chousiadas
+ */
+class MeetingScheduleTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    private MeetingSchedule schedule;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        schedule = new MeetingSchedule(null, null, 60);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void endedMeetingsArePruned() throws MeetingConflictException {
+        schedule.reserve(1L, 1L, "A1", new Date(now - 3 * HOUR));
+        schedule.reserve(2L, 1L, "A1", new Date(now + HOUR));
+        schedule.reserve(3L, 2L, "B1", new Date(now + 2 * HOUR));
+
+        assertEquals(2, schedule.size());
+    }
+
+    @Test
+    void movedMeetingIsPrunedAtItsNewEnd() throws MeetingConflictException {
+        schedule.reserve(1L, 1L, "A1", new Date(now + HOUR));
+        schedule.reserve(1L, 1L, "A1", new Date(now + 3 * HOUR));
+
+        schedule.prune(now + 2 * HOUR + 1);
+        assertEquals(1, schedule.size());
+
+        schedule.prune(now + 4 * HOUR);
+        assertEquals(0, schedule.size());
+    }
+
+    @Test
+    void removedTeachersAreReleasedButRoomsStayBooked() throws MeetingConflictException {
+        Date start = new Date(now + HOUR);
+        schedule.reserve(1L, 1L, "A1", start);
+        schedule.reserve(2L, 1L, null, new Date(now + 3 * HOUR));
+
+        schedule.teachersRemoved(List.of(1L));
+
+        schedule.reserve(3L, 1L, null, start);
+        assertThrows(MeetingConflictException.class, () -> schedule.reserve(4L, 2L, "A1", start));
+        assertEquals(2, schedule.size());
+    }
+}
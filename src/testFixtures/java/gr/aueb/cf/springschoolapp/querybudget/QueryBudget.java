@@ -0,0 +1,41 @@
+package gr.aueb.cf.springschoolapp.querybudget;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of JDBC statements a test method
+ * may execute. The statements are counted with the Hibernate
+ * {@link org.hibernate.stat.Statistics} of the test's application
+ * context, from the start to the end of the test method, so the
+ * fixtures created in {@code @BeforeEach} methods are not counted.
+ * <p>
+ * Example:
+ * <pre>
+ * &#64;Test
+ * &#64;QueryBudget(2)
+ * void getTeachersByLastname() throws Exception {
+ *     mockMvc.perform(get("/api/teachers").param("lastname", "Pa"));
+ * }
+ * </pre>
+ *
+ * @author Thanasis Chousiadas
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * The maximum number of statements.
+     *
+     * @return the budget of the test method.
+     */
+    int value();
+}
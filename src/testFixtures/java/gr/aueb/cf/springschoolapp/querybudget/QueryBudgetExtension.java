@@ -0,0 +1,54 @@
+package gr.aueb.cf.springschoolapp.querybudget;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+
+/**
+ * JUnit 5 extension behind {@link QueryBudget}. It enables the
+ * Hibernate statistics of the test's application context, clears
+ * them right before the test method and fails the test if the
+ * method executed more statements than its budget.
+ *
+ * @author Thanasis Chousiadas
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        Statistics statistics = statistics(context);
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryBudget budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+        if (budget == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        Statistics statistics = statistics(context);
+        long statements = statistics.getPrepareStatementCount();
+        if (statements > budget.value()) {
+            throw new AssertionFailedError(
+                    context.getDisplayName() + " executed " + statements
+                            + " statements, the budget is " + budget.value()
+                            + ". Queries: " + Arrays.toString(statistics.getQueries()),
+                    budget.value(), statements);
+        }
+    }
+
+    private Statistics statistics(ExtensionContext context) {
+        EntityManagerFactory entityManagerFactory = SpringExtension.getApplicationContext(context)
+                .getBean(EntityManagerFactory.class);
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
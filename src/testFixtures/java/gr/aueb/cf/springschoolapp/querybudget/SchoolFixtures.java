@@ -0,0 +1,121 @@
+package gr.aueb.cf.springschoolapp.querybudget;
+
+import gr.aueb.cf.springschoolapp.model.City;
+import gr.aueb.cf.springschoolapp.model.Gender;
+import gr.aueb.cf.springschoolapp.model.Speciality;
+import gr.aueb.cf.springschoolapp.model.Student;
+import gr.aueb.cf.springschoolapp.model.Teacher;
+import gr.aueb.cf.springschoolapp.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Test data for the query budget tests. Every method persists its
+ * rows, flushes them and clears the persistence context, so the
+ * test reads them back from the database.
+ * <p>
+ * Lastnames are {@code "Lastname" + i} and usernames
+ * {@code prefix + i}, for {@code i} from 0 to count - 1.
+ * <p>
+ * The rows are spread in turn over up to three specialities or
+ * cities, so loading them row by row through an eager to-one
+ * association costs more than one query. Row 0 always gets
+ * "Mathematics" and "Athens".
+ *
+ * @author Thanasis Chousiadas
+ */
+public final class SchoolFixtures {
+
+    private static final String[] SPECIALITIES = {"Mathematics", "Physics", "Chemistry"};
+    private static final String[] CITIES = {"Athens", "Thessaloniki", "Patras"};
+
+    /**
+     * No instances of this should be available.
+     */
+    private SchoolFixtures() {
+    }
+
+    /**
+     * Persists teachers, spread over the specialities, with a user each.
+     *
+     * @param entityManager the entity manager of the test.
+     * @param count         the number of teachers.
+     * @return the ids of the teachers.
+     */
+    public static List<Long> teachers(EntityManager entityManager, int count) {
+        List<Speciality> specialities = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, SPECIALITIES.length); i++) {
+            Speciality speciality = new Speciality();
+            speciality.setSpecialityName(SPECIALITIES[i]);
+            entityManager.persist(speciality);
+            specialities.add(speciality);
+        }
+
+        List<Teacher> teachers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Teacher teacher = new Teacher();
+            teacher.setSsn("S" + i);
+            teacher.setFirstname("Firstname" + i);
+            teacher.setLastname("Lastname" + i);
+            teacher.setSpeciality(specialities.get(i % specialities.size()));
+            teacher.setUser(user("teacher" + i));
+            entityManager.persist(teacher);
+            teachers.add(teacher);
+        }
+        return flush(entityManager, teachers, Teacher::getId);
+    }
+
+    /**
+     * Persists students, spread over the cities, with a user each.
+     *
+     * @param entityManager the entity manager of the test.
+     * @param count         the number of students.
+     * @return the ids of the students.
+     */
+    public static List<Long> students(EntityManager entityManager, int count) {
+        List<City> cities = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, CITIES.length); i++) {
+            City city = new City();
+            city.setCityName(CITIES[i]);
+            entityManager.persist(city);
+            cities.add(city);
+        }
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Student student = new Student();
+            student.setFirstname("Firstname" + i);
+            student.setLastname("Lastname" + i);
+            student.setGender(i % 2 == 0 ? Gender.F : Gender.M);
+            student.setBirthDate(LocalDate.of(2000, 1, 1));
+            student.setCity(cities.get(i % cities.size()));
+            student.setUser(user("student" + i));
+            entityManager.persist(student);
+            students.add(student);
+        }
+        return flush(entityManager, students, Student::getId);
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret");
+        return user;
+    }
+
+    private static <T> List<Long> flush(EntityManager entityManager, List<T> entities,
+                                        Function<T, Long> getId) {
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> ids = new ArrayList<>();
+        for (T entity : entities) {
+            ids.add(getId.apply(entity));
+        }
+        return ids;
+    }
+}